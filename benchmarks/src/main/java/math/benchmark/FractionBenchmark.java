@@ -0,0 +1,53 @@
+package math.benchmark;
+
+import math.util.Fraction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionBenchmark {
+    // small: numerators and denominators fit into a long, big: they have hundreds of bits
+    @Param({"small", "big"})
+    public String size;
+
+    private Fraction x;
+    private Fraction y;
+
+    @Setup
+    public void setup() {
+        if (size.equals("small")) {
+            x = new Fraction(355, 113);
+            y = new Fraction(-22, 7);
+        } else {
+            x = new Fraction(BigInteger.TEN.pow(120).add(BigInteger.ONE), BigInteger.valueOf(3).pow(200));
+            y = new Fraction(BigInteger.valueOf(7).pow(150).negate(), BigInteger.TWO.pow(300).add(BigInteger.ONE));
+        }
+    }
+
+    @Benchmark
+    public Fraction add() {
+        return x.add(y);
+    }
+
+    @Benchmark
+    public Fraction multiply() {
+        return x.multiply(y);
+    }
+
+    @Benchmark
+    public Fraction divide() {
+        return x.divide(y);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return x.compareTo(y);
+    }
+}
@@ -0,0 +1,48 @@
+package math.benchmark;
+
+import math.analysis.BernsteinCertifier;
+import math.analysis.MTPFunction;
+import math.analysis.RealPolynomial;
+import math.util.Polynomial;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// One step of the MTP search: build P[k1, k2](x) and determine its sign on (0, 1.58), the Taylor polynomials stay cached
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MTPBenchmark {
+    @Param({"0,0", "0,1", "1,1", "2,2"})
+    public String candidate;
+
+    private MTPFunction function;
+    private int k1;
+    private int k2;
+
+    @Setup
+    public void setup() {
+        function = MTPFunction.parse("1/4*x^3*sin^2(x) + x*cos(x) + 1/2*x^3*sin(x) - 1/15*x^4 - 3/25*x^6");
+        k1 = Integer.parseInt(candidate.split(",")[0]);
+        k2 = Integer.parseInt(candidate.split(",")[1]);
+    }
+
+    @Benchmark
+    public Polynomial getPolynomial() {
+        return function.getPolynomial(k1, k2);
+    }
+
+    @Benchmark
+    public int searchStep() {
+        Polynomial px = function.getPolynomial(k1, k2);
+        return BernsteinCertifier.certifyPositive(px, 0, 1.58).isPositive() ? 1 : RealPolynomial.findPolynomialSgn(0, 1.58, px, false);
+    }
+
+    @Benchmark
+    public int sturmSign() {
+        return RealPolynomial.findPolynomialSgn(0, 1.58, function.getPolynomial(k1, k2), false);
+    }
+}
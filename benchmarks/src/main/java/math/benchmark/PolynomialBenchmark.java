@@ -0,0 +1,63 @@
+package math.benchmark;
+
+import math.util.Fraction;
+import math.util.Polynomial;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBenchmark {
+    @Param({"10", "50", "200"})
+    public int degree;
+
+    private Polynomial p;
+    private Polynomial q;
+    private Polynomial product;
+    private Polynomial withCommonFactor1;
+    private Polynomial withCommonFactor2;
+    private Fraction x;
+
+    @Setup
+    public void setup() {
+        p = Polynomials.random(degree, 1);
+        q = Polynomials.random(degree / 2, 2);
+        product = p.multiply(q);
+
+        // The GCD is the random polynomial of degree 'degree / 2'
+        Polynomial factor = Polynomials.random(degree / 2, 3);
+        withCommonFactor1 = factor.multiply(Polynomials.random(degree / 2, 4));
+        withCommonFactor2 = factor.multiply(Polynomials.random(degree / 2, 5));
+        x = new Fraction(-7, 3);
+    }
+
+    @Benchmark
+    public Polynomial multiply() {
+        return p.multiply(q);
+    }
+
+    @Benchmark
+    public Polynomial divide() {
+        return product.divide(q);
+    }
+
+    @Benchmark
+    public Polynomial gcd() {
+        return Polynomial.gcd(withCommonFactor1, withCommonFactor2);
+    }
+
+    @Benchmark
+    public Polynomial modularGcd() {
+        return Polynomial.modularGcd(withCommonFactor1, withCommonFactor2);
+    }
+
+    @Benchmark
+    public Fraction evaluate() {
+        return p.evaluate(x);
+    }
+}
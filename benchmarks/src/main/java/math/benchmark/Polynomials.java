@@ -0,0 +1,38 @@
+package math.benchmark;
+
+import math.util.Fraction;
+import math.util.Polynomial;
+
+import java.util.Random;
+
+// Generated polynomial families used by the benchmarks
+final class Polynomials {
+    private Polynomials() {
+    }
+
+    // Wilkinson's polynomial (x - 1)(x - 2)...(x - degree), all roots are real, simple and evenly spaced
+    static Polynomial wilkinson(int degree) {
+        Polynomial px = new Polynomial(Fraction.ONE, 0);
+        for (int i = 1; i <= degree; i++) {
+            px = px.multiply(new Polynomial(new Fraction[]{new Fraction(-i), Fraction.ONE}));
+        }
+        return px;
+    }
+
+    // Mignotte's polynomial x^degree - 2 * (10x - 1)^2, it has two real roots very close to 1/10
+    static Polynomial mignotte(int degree) {
+        Polynomial square = new Polynomial(new Fraction[]{new Fraction(-1), new Fraction(10)});
+        return new Polynomial(Fraction.ONE, degree).subtract(square.multiply(square).multiply(new Polynomial(new Fraction(2), 0)));
+    }
+
+    // Polynomial with random coefficients p / q, |p| <= 1000 and 1 <= q <= 100
+    static Polynomial random(int degree, long seed) {
+        Random random = new Random(seed);
+        Fraction[] coefficients = new Fraction[degree + 1];
+        for (int i = 0; i <= degree; i++) {
+            coefficients[i] = new Fraction(random.nextInt(2001) - 1000, random.nextInt(100) + 1);
+        }
+        if (coefficients[degree].equals(Fraction.ZERO)) coefficients[degree] = Fraction.ONE;
+        return new Polynomial(coefficients);
+    }
+}
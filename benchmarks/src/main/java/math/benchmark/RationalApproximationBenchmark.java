@@ -0,0 +1,42 @@
+package math.benchmark;
+
+import math.analysis.RationalApproximation;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RationalApproximationBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int m;
+
+    private RationalApproximation session;
+
+    @Setup
+    public void setup() {
+        session = new RationalApproximation(new BigDecimal("3.1415926535"), RationalApproximation.Mode.CONTINUED_FRACTION,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+    }
+
+    @Benchmark
+    public List<RationalApproximation.Fraction> fractionsList() {
+        return session.getFractionsList(1, m);
+    }
+
+    @Benchmark
+    public List<RationalApproximation.Fraction> bestFractionsList() {
+        return session.getBestFractionsList(1, m);
+    }
+}
@@ -0,0 +1,43 @@
+package math.benchmark;
+
+import math.analysis.PolynomialRootFinder;
+import math.util.Polynomial;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SturmBenchmark {
+    @Param({"5", "20", "50", "100", "200"})
+    public int degree;
+
+    @Param({"wilkinson", "mignotte"})
+    public String family;
+
+    private Polynomial px;
+    private double a;
+    private double b;
+
+    @Setup
+    public void setup() {
+        if (family.equals("wilkinson")) {
+            px = Polynomials.wilkinson(degree);
+            a = 0;
+            b = degree + 1;
+        } else {
+            px = Polynomials.mignotte(degree);
+            a = 0;
+            b = 1;
+        }
+    }
+
+    @Benchmark
+    public int sturmTheorem() {
+        return PolynomialRootFinder.sturmTheorem(px, a, b, false);
+    }
+}
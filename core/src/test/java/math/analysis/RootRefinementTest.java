@@ -0,0 +1,81 @@
+package math.analysis;
+
+import math.util.Fraction;
+import math.util.Interval;
+import math.util.Polynomial;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RootRefinementTest {
+    private static final int BITS = 40;
+
+    // Returns (x - r_1) * ... * (x - r_n)
+    private static Polynomial fromRoots(int... roots) {
+        Polynomial px = new Polynomial(Fraction.ONE, 0);
+        for (int root : roots) px = px.multiply(new Polynomial(new Fraction[]{new Fraction(-root), Fraction.ONE}));
+        return px;
+    }
+
+    private static void assertRefinesAll(Polynomial px) {
+        SturmSequence sturmSequence = new SturmSequence(px);
+        List<RootIsolation.IsolatedRoot> isolated = RootIsolation.isolateRoots(px);
+        List<RootIsolation.IsolatedRoot> refined = RootRefinement.refineRoots(px, BITS);
+        assertEquals(isolated.size(), refined.size());
+
+        for (int i = 0; i < refined.size(); i++) {
+            Interval original = isolated.get(i).getInterval(), interval = refined.get(i).getInterval();
+            Fraction a = interval.getLowerBound(), b = interval.getUpperBound();
+            assertTrue(original.getLowerBound().compareTo(a) <= 0 && b.compareTo(original.getUpperBound()) <= 0,
+                    "Refined interval " + interval + " is not inside " + original);
+            if (a.equals(b)) assertEquals(0, px.signAt(a), "Exact root " + a + " is not a root");
+            else assertEquals(1, sturmSequence.countRoots(a, b) - (px.signAt(b) == 0 ? 1 : 0),
+                    "Refined interval " + interval + " does not contain exactly one root");
+        }
+        for (int i = 1; i < refined.size(); i++) {
+            Interval previous = refined.get(i - 1).getInterval(), current = refined.get(i).getInterval();
+            assertTrue(previous.getUpperBound().compareTo(current.getLowerBound()) <= 0,
+                    "Roots " + previous + " and " + current + " overlap");
+        }
+    }
+
+    @Test
+    void refinesIntervalsWhoseBoundsAreBothRoots() {
+        // The isolating intervals (2, 4), (4, 6) and (6, 8) have roots at both bounds
+        Polynomial wilkinson = fromRoots(1, 2, 3, 4, 5, 6, 7, 8);
+        assertRefinesAll(wilkinson);
+
+        List<RootIsolation.IsolatedRoot> refined = RootRefinement.refineRoots(wilkinson, BITS);
+        for (int i = 0; i < refined.size(); i++) {
+            Interval interval = refined.get(i).getInterval();
+            Fraction root = new Fraction(i + 1);
+            assertTrue(interval.getLowerBound().compareTo(root) <= 0 && root.compareTo(interval.getUpperBound()) <= 0,
+                    "Root " + root + " is not in " + interval);
+        }
+    }
+
+    @Test
+    void refinesIntervalWithRootOfEvenMultiplicityAtBound() {
+        // 8x^5 - 16x^4 + 10x^3 - 2x^2 = 2x^2 (x - 1) (2x - 1)^2
+        Polynomial px = new Polynomial(new Fraction[]{Fraction.ZERO, Fraction.ZERO, new Fraction(-2), new Fraction(10),
+                new Fraction(-16), new Fraction(8)});
+        assertRefinesAll(px);
+    }
+
+    @Test
+    void refinesIrrationalRoots() {
+        // x^2 - 2, both roots are irrational
+        Polynomial px = new Polynomial(new Fraction[]{new Fraction(-2), Fraction.ZERO, Fraction.ONE});
+        List<RootIsolation.IsolatedRoot> refined = RootRefinement.refineRoots(px, BITS);
+        assertEquals(2, refined.size());
+        for (RootIsolation.IsolatedRoot root : refined) {
+            Interval interval = root.getInterval();
+            assertTrue(interval.getWidth().compareTo(new Fraction(BigInteger.ONE, BigInteger.ONE.shiftLeft(BITS))) <= 0);
+            assertEquals(-1, px.signAt(interval.getLowerBound()) * px.signAt(interval.getUpperBound()));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package math.analysis;
+
+import math.util.Fraction;
+import math.util.Interval;
+import math.util.Polynomial;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Class to count the roots of many polynomials without interaction, the records are read from files, checked in parallel
+// and written as JSONL in the order of the input
+public final class BatchRootFinder {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_SCALE = 10_000; // Largest decimal exponent accepted, in either direction
+
+    private final int parallelism;
+    private final int capacity;
+
+    private static void showUsage() {
+        System.out.println("""
+                Usage: BatchRootFinder [options] <file>...   (use '-' to read the standard input)
+                Every line of the input holds a record: the coefficients from the highest degree down, followed by
+                one or more intervals (a, b], each after a ';', e.g. "1 0 -3 -1 3 3 -1 -3 0 1 ; 0 3 ; -1/2 1.5".
+                Blank lines and lines starting with '#' are skipped.
+                Program arguments:
+                --parallelism=<threads>  Number of threads, all available processors by default.
+                --capacity=<records>     Maximum number of records in flight, 4 per thread by default.
+                --output=<file>          Write the results to the file instead of the standard output."""
+        );
+    }
+
+    private static void atExit(String message) {
+        if (message != null && !message.isEmpty()) {
+            System.err.println("Error occurred: " + message);
+        }
+        showUsage();
+        System.exit(-1);
+    }
+
+    /**
+     * @param parallelism The number of records processed at the same time.
+     * @param capacity    The maximum number of records read but not yet written, at least the parallelism.
+     */
+    public BatchRootFinder(int parallelism, int capacity) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism has to be positive.");
+        if (capacity < parallelism) throw new IllegalArgumentException("Capacity has to be at least the parallelism.");
+
+        this.parallelism = parallelism;
+        this.capacity = capacity;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors(), capacity = 0;
+        Path output = null;
+        List<String> inputs = new ArrayList<>();
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (arg.contains("=") ? arg.substring(0, arg.indexOf('=')) : arg) {
+                case "--parallelism" -> {
+                    parallelism = Integer.parseInt(value);
+                    if (parallelism <= 0) atExit("Invalid value for the parallelism.");
+                }
+                case "--capacity" -> {
+                    capacity = Integer.parseInt(value);
+                    if (capacity <= 0) atExit("Invalid value for the capacity.");
+                }
+                case "--output" -> output = Path.of(value);
+                default -> {
+                    if (arg.startsWith("--")) atExit("Unknown argument '" + arg + "'.");
+                    inputs.add(arg);
+                }
+            }
+        }
+        if (inputs.isEmpty()) atExit("No input files.");
+
+        BatchRootFinder finder = new BatchRootFinder(parallelism, Math.max(parallelism, capacity == 0 ? 4 * parallelism : capacity));
+        Writer writer = output == null ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(writer, BUFFER_SIZE))) {
+            for (String input : inputs) {
+                BufferedReader reader = new BufferedReader(input.equals("-")
+                        ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                        : new InputStreamReader(Files.newInputStream(Path.of(input)), StandardCharsets.UTF_8), BUFFER_SIZE);
+                try (reader) {
+                    finder.process(input, reader, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes every record of the input and writes one JSON object per record, in the order of the input.
+     * Reading stops while 'capacity' records are in flight, so the memory use does not depend on the size of the input.
+     *
+     * @param source The name of the input, written to every result.
+     * @param reader The input records, one per line.
+     * @param out    Receives the results.
+     */
+    public void process(String source, BufferedReader reader, PrintWriter out) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-root-finder");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Deque<Future<String>> running = new ArrayDeque<>();
+        try {
+            String line;
+            for (int lineNumber = 1; (line = reader.readLine()) != null; lineNumber++) {
+                String record = line.trim();
+                if (record.isEmpty() || record.startsWith("#")) continue;
+
+                // Backpressure, the oldest record is written before another one is read
+                if (running.size() == capacity) out.println(await(running.removeFirst()));
+                running.addLast(executor.submit(processRecord(source, lineNumber, record)));
+            }
+            while (!running.isEmpty()) out.println(await(running.removeFirst()));
+            out.flush();
+        } finally {
+            running.forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+    }
+
+    private static String await(Future<String> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Processing a record failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a record.", e);
+        }
+    }
+
+    // Invalid records produce an error object instead of stopping the batch
+    private static Callable<String> processRecord(String source, int lineNumber, String record) {
+        return () -> {
+            String prefix = "{\"source\":" + quote(source) + ",\"line\":" + lineNumber;
+            try {
+                return prefix + "," + countRoots(record) + "}";
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                return prefix + ",\"error\":" + quote(e.getMessage()) + "}";
+            }
+        };
+    }
+
+    // Returns the JSON fields with the degree and the number of roots in each of the intervals
+    private static String countRoots(String record) {
+        String[] parts = record.split(";");
+        if (parts.length < 2) throw new IllegalArgumentException("Expected at least one interval after ';'.");
+
+        String[] tokens = parts[0].trim().split("\\s+");
+        Fraction[] coefficients = new Fraction[tokens.length];
+        for (int i = 0; i < tokens.length; i++) coefficients[i] = parseFraction(tokens[i]);
+        Polynomial px = new Polynomial(Fraction.getReversedFractionsList(coefficients));
+        if (px.isZero()) throw new IllegalArgumentException("The polynomial is zero.");
+
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 1; i < parts.length; i++) {
+            String[] bounds = parts[i].trim().split("\\s+");
+            if (bounds.length != 2) throw new IllegalArgumentException("Expected two bounds in '" + parts[i].trim() + "'.");
+            intervals.add(new Interval(parseFraction(bounds[0]), parseFraction(bounds[1])));
+        }
+
+        int[] roots = new SturmSequence(px).countRoots(intervals);
+        StringBuilder sb = new StringBuilder("\"degree\":").append(px.getDegree()).append(",\"intervals\":[");
+        for (int i = 0; i < roots.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"a\":").append(quote(intervals.get(i).getLowerBound().toString()))
+                    .append(",\"b\":").append(quote(intervals.get(i).getUpperBound().toString()))
+                    .append(",\"roots\":").append(roots[i]).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    // Accepts integers, decimals and fractions p/q
+    private static Fraction parseFraction(String token) {
+        try {
+            int slash = token.indexOf('/');
+            if (slash >= 0) {
+                return new Fraction(new BigInteger(token.substring(0, slash)), new BigInteger(token.substring(slash + 1)));
+            }
+
+            BigDecimal value = new BigDecimal(token);
+            // Checked before expanding, '1e999999999' would otherwise build a number with a billion digits
+            if (Math.abs((long) value.scale()) > MAX_SCALE) {
+                throw new IllegalArgumentException("Number '" + token + "' is out of range.");
+            }
+            if (value.scale() <= 0) return new Fraction(value.toBigIntegerExact());
+            return new Fraction(value.unscaledValue(), BigInteger.TEN.pow(value.scale()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + token + "'.", e);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,243 @@
+package math.analysis;
+
+import math.util.Factorials;
+import math.util.Fraction;
+import math.util.Interval;
+import math.util.Polynomial;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+
+// Class to decide if a polynomial is positive on an interval, using its Bernstein coefficients and de Casteljau subdivision
+public final class BernsteinCertifier {
+    // Deeper nodes are decided by Sturm's theorem, this is reached only near roots of even multiplicity
+    private static final int MAX_DEPTH = 96;
+
+    private BernsteinCertifier() {
+    }
+
+    public enum Kind {
+        BERNSTEIN, // All Bernstein coefficients on the interval are positive
+        STURM, // The polynomial has no roots in the interval and is positive at its midpoint
+        SPLIT // Both halves of the interval are certified
+    }
+
+    // Node of the certificate tree, the leaves cover the whole interval
+    public static class Certificate {
+        private final Interval interval;
+        private final Kind kind;
+        private final List<Certificate> children;
+
+        private Certificate(Interval interval, Kind kind, List<Certificate> children) {
+            this.interval = interval;
+            this.kind = kind;
+            this.children = children;
+        }
+
+        // Closed interval [a, b] of the node, the bounds of the root node are excluded
+        public Interval getInterval() {
+            return interval;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public List<Certificate> getChildren() {
+            return children;
+        }
+
+        public int getLeafCount() {
+            if (children.isEmpty()) return 1;
+            return children.stream().mapToInt(Certificate::getLeafCount).sum();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            append(sb, 0);
+            return sb.toString();
+        }
+
+        private void append(StringBuilder sb, int indent) {
+            sb.append("  ".repeat(indent)).append(kind).append(" [")
+                    .append(interval.getLowerBound()).append(", ").append(interval.getUpperBound()).append("]\n");
+            for (Certificate child : children) child.append(sb, indent + 1);
+        }
+    }
+
+    public static class Result {
+        private final Certificate certificate;
+        private final Interval witness;
+
+        private Result(Certificate certificate, Interval witness) {
+            this.certificate = certificate;
+            this.witness = witness;
+        }
+
+        public boolean isPositive() {
+            return certificate != null;
+        }
+
+        // The proof of positivity, null if the polynomial is not positive
+        public Certificate getCertificate() {
+            return certificate;
+        }
+
+        // Interval inside (a, b) containing a point x with P(x) <= 0, a single point whenever such a rational point is found,
+        // null if the polynomial is positive
+        public Interval getWitness() {
+            return witness;
+        }
+    }
+
+    /**
+     * Decides if the polynomial is positive on the open interval (a, b).
+     *
+     * @param px The polynomial.
+     * @param a  The lower bound of the interval.
+     * @param b  The upper bound of the interval, greater than a.
+     * @return Either a certificate of positivity or a witness where the polynomial is not positive.
+     */
+    public static Result certifyPositive(Polynomial px, Fraction a, Fraction b) {
+        if (a.compareTo(b) >= 0) throw new IllegalArgumentException("The interval (" + a + ", " + b + ") is empty.");
+        if (px.isZero()) {
+            Fraction midpoint = a.add(b).multiply(new Fraction(1, 2));
+            return new Result(null, new Interval(midpoint, midpoint));
+        }
+
+        // Divide out the roots at the bounds, (x - a) > 0 and (x - b) < 0 inside (a, b)
+        Polynomial f = px;
+        while (f.signAt(a) == 0) f = f.divide(RootIsolation.linearFactor(a));
+        while (f.signAt(b) == 0) f = f.divide(RootIsolation.linearFactor(b)).negate();
+
+        Search search = new Search(f, a, b);
+        Object node = search.certify(bernsteinCoefficients(f, a, b), BigInteger.ZERO, 0);
+        return node instanceof Certificate certificate ? new Result(certificate, null) : new Result(null, (Interval) node);
+    }
+
+    public static Result certifyPositive(Polynomial px, double a, double b) {
+        return certifyPositive(px, new Fraction(a), new Fraction(b));
+    }
+
+    private static class Search {
+        private final Polynomial f;
+        private final Fraction a;
+        private final Fraction width;
+        private SturmSequence sturmSequence; // Created only if needed
+
+        private Search(Polynomial f, Fraction a, Fraction b) {
+            this.f = f;
+            this.a = a;
+            width = b.subtract(a);
+        }
+
+        // Returns a certificate for the node t in [c / 2^depth, (c + 1) / 2^depth], or a witness interval
+        private Object certify(BigInteger[] coefficients, BigInteger c, int depth) {
+            int n = coefficients.length - 1;
+            Interval interval = new Interval(toPoint(c, depth), toPoint(c.add(BigInteger.ONE), depth));
+
+            boolean allPositive = true;
+            for (BigInteger coefficient : coefficients) allPositive &= coefficient.signum() > 0;
+            if (allPositive) return new Certificate(interval, Kind.BERNSTEIN, Collections.emptyList());
+
+            // The first and the last coefficient are the values at the bounds, which are excluded only for the whole interval
+            if (coefficients[0].signum() <= 0 && c.signum() != 0)
+                return new Interval(interval.getLowerBound(), interval.getLowerBound());
+            if (coefficients[n].signum() <= 0 && !c.add(BigInteger.ONE).equals(BigInteger.ONE.shiftLeft(depth)))
+                return new Interval(interval.getUpperBound(), interval.getUpperBound());
+
+            if (depth == MAX_DEPTH) return decideBySturm(interval);
+
+            BigInteger[][] halves = subdivide(coefficients);
+            if (halves[0][n].signum() <= 0) {
+                Fraction midpoint = toPoint(c.shiftLeft(1).add(BigInteger.ONE), depth + 1);
+                return new Interval(midpoint, midpoint);
+            }
+
+            Object left = certify(halves[0], c.shiftLeft(1), depth + 1);
+            if (left instanceof Interval) return left;
+            Object right = certify(halves[1], c.shiftLeft(1).add(BigInteger.ONE), depth + 1);
+            if (right instanceof Interval) return right;
+            return new Certificate(interval, Kind.SPLIT, List.of((Certificate) left, (Certificate) right));
+        }
+
+        private Object decideBySturm(Interval interval) {
+            if (sturmSequence == null) sturmSequence = new SturmSequence(f);
+
+            // The bounds of the node are not roots, so any root lies inside
+            if (sturmSequence.countRoots(interval) > 0) return interval;
+
+            Fraction midpoint = interval.getMidpoint();
+            if (f.signAt(midpoint) < 0) return new Interval(midpoint, midpoint);
+            return new Certificate(interval, Kind.STURM, Collections.emptyList());
+        }
+
+        // Returns a + width * c / 2^depth
+        private Fraction toPoint(BigInteger c, int depth) {
+            return a.add(width.multiply(new Fraction(c, BigInteger.ONE.shiftLeft(depth))));
+        }
+    }
+
+    // Returns positive multiples of the Bernstein coefficients of px on [a, b]
+    private static BigInteger[] bernsteinCoefficients(Polynomial px, Fraction a, Fraction b) {
+        // q(t) = px(a + (b - a) * t) by Horner's scheme, then scaled to integer coefficients
+        Polynomial substitution = new Polynomial(new Fraction[]{a, b.subtract(a)});
+        Polynomial q = new Polynomial(px.getLeadingCoefficient(), 0);
+        for (int i = px.getDegree() - 1; i >= 0; i--) {
+            q = q.multiply(substitution).add(new Polynomial(px.getCoefficient(i), 0));
+        }
+
+        int n = q.getDegree();
+        BigInteger lcm = BigInteger.ONE;
+        for (int i = 0; i <= n; i++) {
+            BigInteger denominator = q.getCoefficient(i).getDenominator();
+            lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+        }
+
+        // (1 + u)^n * q(u / (1 + u)) = sum of beta_k * C(n, k) * u^k, computed as a Taylor shift of the reversed q
+        BigInteger[] shifted = new BigInteger[n + 1];
+        for (int i = 0; i <= n; i++) {
+            Fraction coefficient = q.getCoefficient(n - i);
+            shifted[i] = coefficient.getNumerator().multiply(lcm.divide(coefficient.getDenominator()));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = n - 1; j >= i; j--) shifted[j] = shifted[j].add(shifted[j + 1]);
+        }
+
+        // beta_k * n! = d_k * k! * (n - k)!
+        BigInteger[] coefficients = new BigInteger[n + 1];
+        for (int k = 0; k <= n; k++) {
+            coefficients[k] = shifted[n - k].multiply(Factorials.factorial(k)).multiply(Factorials.factorial(n - k));
+        }
+        return removeCommonPowerOfTwo(coefficients);
+    }
+
+    // de Casteljau's algorithm at t = 1/2, both halves are scaled by 2^n
+    private static BigInteger[][] subdivide(BigInteger[] coefficients) {
+        int n = coefficients.length - 1;
+        BigInteger[] row = coefficients.clone();
+        BigInteger[] left = new BigInteger[n + 1], right = new BigInteger[n + 1];
+        left[0] = row[0].shiftLeft(n);
+        right[n] = row[n].shiftLeft(n);
+        for (int j = 1; j <= n; j++) {
+            // Row j holds the points of level j multiplied by 2^j
+            for (int i = 0; i <= n - j; i++) row[i] = row[i].add(row[i + 1]);
+            left[j] = row[0].shiftLeft(n - j);
+            right[n - j] = row[n - j].shiftLeft(n - j);
+        }
+        return new BigInteger[][]{removeCommonPowerOfTwo(left), removeCommonPowerOfTwo(right)};
+    }
+
+    private static BigInteger[] removeCommonPowerOfTwo(BigInteger[] coefficients) {
+        int shift = Integer.MAX_VALUE;
+        for (BigInteger coefficient : coefficients) {
+            if (coefficient.signum() != 0) shift = Math.min(shift, coefficient.getLowestSetBit());
+        }
+        if (shift == Integer.MAX_VALUE || shift == 0) return coefficients;
+
+        for (int i = 0; i < coefficients.length; i++) coefficients[i] = coefficients[i].shiftRight(shift);
+        return coefficients;
+    }
+}
@@ -0,0 +1,175 @@
+package math.analysis;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+// Class to represent the continued fraction of a positive rational alpha, used to find its best rational approximations
+// from the convergents and semiconvergents instead of checking every denominator
+public final class ContinuedFraction {
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+    private final List<BigInteger> partialQuotients = new ArrayList<>(); // a_0, a_1, ..., a_N
+    private final List<BigInteger> h = new ArrayList<>(); // Numerators of the convergents h_0 / k_0, ..., h_N / k_N
+    private final List<BigInteger> k = new ArrayList<>(); // Denominators of the convergents
+
+    public ContinuedFraction(BigDecimal alpha) {
+        if (alpha.signum() <= 0) throw new IllegalArgumentException("Target ('alpha') value should be positive.");
+
+        BigInteger unscaled = alpha.unscaledValue(), scale = BigInteger.TEN.pow(Math.max(0, alpha.scale()));
+        if (alpha.scale() < 0) unscaled = unscaled.multiply(BigInteger.TEN.pow(-alpha.scale()));
+        BigInteger gcd = unscaled.gcd(scale);
+        numerator = unscaled.divide(gcd);
+        denominator = scale.divide(gcd);
+
+        // Euclid's algorithm, the convergents follow h_i = a_i * h_(i-1) + h_(i-2) from h_(-1) = 1, h_(-2) = 0
+        BigInteger hPrevious = BigInteger.ZERO, hCurrent = BigInteger.ONE;
+        BigInteger kPrevious = BigInteger.ONE, kCurrent = BigInteger.ZERO;
+        BigInteger x = numerator, y = denominator;
+        while (y.signum() != 0) {
+            BigInteger[] quotientAndRemainder = x.divideAndRemainder(y);
+            BigInteger a = quotientAndRemainder[0];
+            partialQuotients.add(a);
+
+            BigInteger hNext = a.multiply(hCurrent).add(hPrevious), kNext = a.multiply(kCurrent).add(kPrevious);
+            hPrevious = hCurrent;
+            hCurrent = hNext;
+            kPrevious = kCurrent;
+            kCurrent = kNext;
+            h.add(hCurrent);
+            k.add(kCurrent);
+
+            x = y;
+            y = quotientAndRemainder[1];
+        }
+    }
+
+    public List<BigInteger> getPartialQuotients() {
+        return List.copyOf(partialQuotients);
+    }
+
+    /**
+     * Determines the kind of the fraction p / q as a rational approximation of alpha in O(log) steps, comparing it only
+     * to the convergents and to the best semiconvergent of each block with a smaller denominator.
+     *
+     * @param p The numerator.
+     * @param q The denominator, has to be positive.
+     * @return 2 if p / q is a best approximation of the second kind, 1 if only of the first kind, 0 otherwise.
+     */
+    public int kindOf(long p, long q) {
+        if (q <= 0) throw new IllegalArgumentException("Denominator ('q') value should be positive.");
+
+        long gcd = gcd(Math.abs(p), q);
+        BigInteger r = BigInteger.valueOf(p / gcd), s = BigInteger.valueOf(q / gcd);
+
+        // The numerator of a best approximation is the nearest integer to alpha * q (half up)
+        if (!r.equals(nearest(s))) return 0;
+
+        BigInteger distance = distance(r, s); // |q * alpha - p| * denominator
+        if (isSecondKind(s, distance)) return 2;
+        return isFirstKind(r, s, distance) ? 1 : 0;
+    }
+
+    /**
+     * Lists all best approximations with the denominator in [n, m], in ascending order of the denominator.
+     * The candidates are the convergents and the semiconvergents, the first qualifying semiconvergent of each
+     * block is found by binary search, so the work is O(log^2) plus the size of the result.
+     *
+     * @param n The lower bound of the denominator.
+     * @param m The upper bound of the denominator.
+     * @return Pairs {p, q, kind} with kind 1 for the first kind and 2 for the second kind.
+     */
+    public List<long[]> bestApproximations(long n, long m) {
+        List<long[]> approximations = new ArrayList<>();
+        BigInteger lower = BigInteger.valueOf(n), upper = BigInteger.valueOf(m);
+
+        // a_0 / 1, then the blocks (h_(i-1) + j * h_i) / (k_(i-1) + j * k_i) for j = 1, ..., a_(i+1), ending with h_(i+1) / k_(i+1)
+        addIfBest(approximations, h.get(0), k.get(0), lower, upper);
+        for (int i = 0; i + 1 < partialQuotients.size(); i++) {
+            BigInteger hPrevious = i == 0 ? BigInteger.ONE : h.get(i - 1), kPrevious = i == 0 ? BigInteger.ZERO : k.get(i - 1);
+            BigInteger hi = h.get(i), ki = k.get(i), a = partialQuotients.get(i + 1);
+            if (kPrevious.add(ki).compareTo(upper) > 0) break;
+
+            // Semiconvergents improve with j, so the best approximations of a block are j = jMin, ..., a_(i+1)
+            BigInteger low = BigInteger.ONE, high = a;
+            while (low.compareTo(high) < 0) {
+                BigInteger middle = low.add(high).shiftRight(1);
+                if (isBest(hPrevious.add(middle.multiply(hi)), kPrevious.add(middle.multiply(ki)))) high = middle;
+                else low = middle.add(BigInteger.ONE);
+            }
+
+            // Skip the denominators below n
+            BigInteger first = lower.subtract(kPrevious).add(ki).subtract(BigInteger.ONE).divide(ki).max(low);
+            for (BigInteger j = first; j.compareTo(a) <= 0; j = j.add(BigInteger.ONE)) {
+                BigInteger q = kPrevious.add(j.multiply(ki));
+                if (q.compareTo(upper) > 0) break;
+                addIfBest(approximations, hPrevious.add(j.multiply(hi)), q, lower, upper);
+            }
+        }
+        return approximations;
+    }
+
+    private void addIfBest(List<long[]> approximations, BigInteger p, BigInteger q, BigInteger lower, BigInteger upper) {
+        if (q.compareTo(lower) < 0 || q.compareTo(upper) > 0 || p.bitLength() >= Long.SIZE) return;
+
+        int kind = kindOf(p.longValue(), q.longValue());
+        if (kind != 0) approximations.add(new long[]{p.longValue(), q.longValue(), kind});
+    }
+
+    private boolean isBest(BigInteger p, BigInteger q) {
+        if (!p.equals(nearest(q))) return false;
+
+        BigInteger distance = distance(p, q);
+        return isSecondKind(q, distance) || isFirstKind(p, q, distance);
+    }
+
+    // |q * alpha - p| < |s * alpha - r| for all s < q, only the convergents have to be checked
+    private boolean isSecondKind(BigInteger q, BigInteger distance) {
+        for (BigInteger ki : k) {
+            if (ki.compareTo(q) >= 0) break;
+            if (distance.compareTo(distance(nearest(ki), ki)) >= 0) return false;
+        }
+        return true;
+    }
+
+    // |alpha - p / q| < |alpha - r / s| for all s < q, only the convergents and the largest semiconvergent of each block
+    // with s < q have to be checked, since the error decreases within a block
+    private boolean isFirstKind(BigInteger p, BigInteger q, BigInteger distance) {
+        for (int i = 0; i < partialQuotients.size(); i++) {
+            if (k.get(i).compareTo(q) >= 0) break;
+            if (!isCloser(distance, q, h.get(i), k.get(i))) return false;
+
+            if (i + 1 == partialQuotients.size()) break;
+            BigInteger hPrevious = i == 0 ? BigInteger.ONE : h.get(i - 1), kPrevious = i == 0 ? BigInteger.ZERO : k.get(i - 1);
+            BigInteger j = q.subtract(BigInteger.ONE).subtract(kPrevious).divide(k.get(i)).min(partialQuotients.get(i + 1));
+            if (j.signum() > 0 && !isCloser(distance, q, hPrevious.add(j.multiply(h.get(i))), kPrevious.add(j.multiply(k.get(i)))))
+                return false;
+        }
+        return true;
+    }
+
+    // |alpha - p / q| < |alpha - r / s| for |q * alpha - p| = distance / denominator
+    private boolean isCloser(BigInteger distance, BigInteger q, BigInteger r, BigInteger s) {
+        return distance.multiply(s).compareTo(distance(r, s).multiply(q)) < 0;
+    }
+
+    // Returns |q * numerator - p * denominator|
+    private BigInteger distance(BigInteger p, BigInteger q) {
+        return q.multiply(numerator).subtract(p.multiply(denominator)).abs();
+    }
+
+    // Returns the nearest integer to alpha * q, rounding half up
+    private BigInteger nearest(BigInteger q) {
+        return q.multiply(numerator).shiftLeft(1).add(denominator).divide(denominator.shiftLeft(1));
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long temp = a % b;
+            a = b;
+            b = temp;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,295 @@
+package math.analysis;
+
+import math.util.Fraction;
+import math.util.Polynomial;
+import math.util.PolynomialBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Class to represent an MTP function, a sum of terms a * x^p * cos^q(x) * sin^r(x), compiled once into a plan
+// that builds the polynomial P[k1, k2](x) for any candidate (k1, k2)
+public final class MTPFunction {
+    private final String source;
+    private final List<Term> terms;
+    private final List<Factor> plan;
+
+    public static class Term {
+        private final Fraction coefficient;
+        private final int xExponent;
+        private final int cosExponent;
+        private final int sinExponent;
+
+        private Term(Fraction coefficient, int xExponent, int cosExponent, int sinExponent) {
+            this.coefficient = coefficient;
+            this.xExponent = xExponent;
+            this.cosExponent = cosExponent;
+            this.sinExponent = sinExponent;
+        }
+
+        public Fraction getCoefficient() {
+            return coefficient;
+        }
+
+        public int getXExponent() {
+            return xExponent;
+        }
+
+        public int getCosExponent() {
+            return cosExponent;
+        }
+
+        public int getSinExponent() {
+            return sinExponent;
+        }
+    }
+
+    // The terms with the same cos^q(x) * sin^r(x) and the same coefficient sign share the expanded factor,
+    // their pure polynomial parts are summed when the function is compiled
+    private record Factor(int cosExponent, int sinExponent, boolean positive, Polynomial polynomialPart) {
+    }
+
+    private record FactorKey(int cosExponent, int sinExponent, boolean positive) {
+    }
+
+    private MTPFunction(String source, List<Term> terms) {
+        this.source = source;
+        this.terms = Collections.unmodifiableList(terms);
+
+        Map<FactorKey, Polynomial> groups = new LinkedHashMap<>();
+        for (Term term : terms) {
+            FactorKey key = new FactorKey(term.cosExponent, term.sinExponent, term.coefficient.signum() > 0);
+            groups.merge(key, new Polynomial(term.coefficient, term.xExponent), Polynomial::add);
+        }
+
+        List<Factor> factors = new ArrayList<>();
+        groups.forEach((key, polynomialPart) ->
+                factors.add(new Factor(key.cosExponent(), key.sinExponent(), key.positive(), polynomialPart)));
+        plan = Collections.unmodifiableList(factors);
+    }
+
+    /**
+     * Parses an MTP function such as {@code 1/4*x^3*sin^2(x) + x*cos(x) - 3/25*x^6}.
+     * Coefficients are integers, fractions or decimals, and the arguments of cos and sin have to be x.
+     *
+     * @param expression The function f(x), with an optional leading "f(x) =".
+     * @return The compiled function.
+     */
+    public static MTPFunction parse(String expression) {
+        return new MTPFunction(expression.trim(), new Parser(expression).parseTerms());
+    }
+
+    // Loads one function per line, blank lines and lines starting with '#' are skipped
+    public static List<MTPFunction> load(Path path) throws IOException {
+        List<MTPFunction> functions = new ArrayList<>();
+        List<String> lines = Files.readAllLines(path);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            try {
+                functions.add(parse(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(path + ":" + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return functions;
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    // Returns the polynomial P[k1, k2](x) < f(x), cos(x) and sin(x) are expanded up to the degrees given by k2 and k1
+    public Polynomial getPolynomial(int k1, int k2) {
+        // The terms are accumulated in place, the pure polynomial part of each factor is multiplied into the sum last
+        PolynomialBuilder px = new PolynomialBuilder();
+        for (Factor factor : plan) {
+            Polynomial series = null;
+            if (factor.cosExponent() != 0) {
+                int order = factor.positive() ? 4 * k2 + 2 : 4 * k2 + 0;
+                series = TaylorCache.power(TaylorCache.Function.COS, order, factor.cosExponent());
+            }
+            if (factor.sinExponent() != 0) {
+                int order = factor.positive() ? 4 * k1 + 3 : 4 * k1 + 1;
+                Polynomial sinSeries = TaylorCache.power(TaylorCache.Function.SIN, order, factor.sinExponent());
+                series = series == null ? sinSeries : series.multiply(sinSeries);
+            }
+
+            if (series == null) px.add(factor.polynomialPart());
+            else px.mulAdd(factor.polynomialPart(), series);
+        }
+        return px.build();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < terms.size(); j++) {
+            Term term = terms.get(j);
+            int coefficientSgn = term.coefficient.signum();
+            if (j != 0) sb.append(coefficientSgn < 0 ? " - " : " + ");
+            else if (coefficientSgn < 0) sb.append("-");
+
+            sb.append(new Polynomial(term.coefficient.abs(), term.xExponent));
+            appendFunction(sb, "cos", term.cosExponent);
+            appendFunction(sb, "sin", term.sinExponent);
+        }
+        return sb.toString();
+    }
+
+    private static void appendFunction(StringBuilder sb, String name, int exponent) {
+        if (exponent == 0) return;
+
+        sb.append('*').append(name);
+        if (exponent != 1) sb.append('^').append(exponent);
+        sb.append("(x)");
+    }
+
+    // Recursive descent parser: expression = ['+' | '-'] term {('+' | '-') term}, term = factor {'*' factor}
+    private static class Parser {
+        private final String input;
+        private int position;
+
+        private Parser(String input) {
+            this.input = input;
+            position = 0;
+        }
+
+        private List<Term> parseTerms() {
+            skipWhitespace();
+            if (input.startsWith("f(x)", position)) {
+                position += 4;
+                expect('=');
+            }
+
+            List<Term> terms = new ArrayList<>();
+            boolean negative = accept('-');
+            if (!negative) accept('+');
+            do {
+                Term term = parseTerm();
+                terms.add(negative ? new Term(term.coefficient.negate(), term.xExponent, term.cosExponent, term.sinExponent) : term);
+                negative = accept('-');
+            } while (negative || accept('+'));
+
+            skipWhitespace();
+            if (position != input.length()) throw error("Unexpected character '" + input.charAt(position) + "'");
+            return terms;
+        }
+
+        private Term parseTerm() {
+            Fraction coefficient = Fraction.ONE;
+            int xExponent = 0, cosExponent = 0, sinExponent = 0;
+            do {
+                skipWhitespace();
+                if (position < input.length() && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                    coefficient = coefficient.multiply(parseNumber());
+                } else if (acceptWord("cos")) {
+                    cosExponent += parseExponent();
+                    parseArgument();
+                } else if (acceptWord("sin")) {
+                    sinExponent += parseExponent();
+                    parseArgument();
+                } else if (acceptWord("x")) {
+                    xExponent += parseExponent();
+                } else {
+                    throw error(position < input.length() ? "Unexpected character '" + input.charAt(position) + "'" : "Unexpected end of input");
+                }
+            } while (accept('*'));
+
+            if (coefficient.equals(Fraction.ZERO)) throw error("Term with zero coefficient");
+            return new Term(coefficient, xExponent, cosExponent, sinExponent);
+        }
+
+        private Fraction parseNumber() {
+            Fraction number = parseDecimal();
+            if (accept('/')) {
+                skipWhitespace();
+                Fraction denominator = parseDecimal();
+                if (denominator.equals(Fraction.ZERO)) throw error("Division by zero");
+                number = number.divide(denominator);
+            }
+            return number;
+        }
+
+        private Fraction parseDecimal() {
+            int start = position;
+            while (position < input.length() && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                position++;
+            }
+
+            try {
+                BigDecimal decimal = new BigDecimal(input.substring(start, position));
+                return decimal.scale() <= 0
+                        ? new Fraction(decimal.toBigIntegerExact())
+                        : new Fraction(decimal.unscaledValue(), BigInteger.TEN.pow(decimal.scale()));
+            } catch (NumberFormatException | ArithmeticException e) {
+                position = start;
+                throw error("Invalid number");
+            }
+        }
+
+        // Returns n of '^n', or 1 if there is no exponent
+        private int parseExponent() {
+            if (!accept('^')) return 1;
+
+            skipWhitespace();
+            int start = position;
+            while (position < input.length() && Character.isDigit(input.charAt(position))) position++;
+            if (start == position) throw error("Exponent expected");
+
+            try {
+                return Integer.parseInt(input.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("Exponent out of range");
+            }
+        }
+
+        private void parseArgument() {
+            expect('(');
+            if (!acceptWord("x")) throw error("Only x is supported as the argument of cos and sin");
+            expect(')');
+        }
+
+        private boolean acceptWord(String word) {
+            skipWhitespace();
+            if (!input.startsWith(word, position)) return false;
+
+            position += word.length();
+            return true;
+        }
+
+        private boolean accept(char c) {
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) throw error("'" + c + "' expected");
+        }
+
+        private void skipWhitespace() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) position++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + " in \"" + input + "\".");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package math.analysis;
+
+import math.util.Polynomial;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Class to check the MTP candidates (k1, k2) in parallel, the result is the same as the one of the sequential search
+public final class MTPSearch {
+    private final CandidateBuilder builder;
+    private final int parallelism;
+    private final Duration timeout;
+
+    @FunctionalInterface
+    public interface CandidateBuilder {
+        Polynomial getPolynomial(int k1, int k2);
+    }
+
+    public static class Candidate {
+        private final int k1;
+        private final int k2;
+        private final Polynomial polynomial;
+        private final int sgn; // -1: negative, 1: positive, 2: alternates sign, 3: undetermined
+
+        private Candidate(int k1, int k2, Polynomial polynomial, int sgn) {
+            this.k1 = k1;
+            this.k2 = k2;
+            this.polynomial = polynomial;
+            this.sgn = sgn;
+        }
+
+        public int getK1() {
+            return k1;
+        }
+
+        public int getK2() {
+            return k2;
+        }
+
+        public Polynomial getPolynomial() {
+            return polynomial;
+        }
+
+        public int getSgn() {
+            return sgn;
+        }
+    }
+
+    /**
+     * @param builder     Creates the polynomial P[k1, k2](x) of the candidate.
+     * @param parallelism The number of candidates checked at the same time.
+     * @param timeout     The wall-clock limit of the whole search, {@code null} for no limit.
+     */
+    public MTPSearch(CandidateBuilder builder, int parallelism, Duration timeout) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism has to be positive.");
+
+        this.builder = builder;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    // Returns the pair (k1, k2) visited in the given position by the sequential search
+    static int[] getPair(long index) {
+        // For k2 = 0, 1, 2, ... the pairs (0, k2), (k2, 0), (1, k2), (k2, 1) are visited, skipping the repeated ones
+        if (index == 0) return new int[]{0, 0};
+        if (index <= 2) return index == 1 ? new int[]{0, 1} : new int[]{1, 0};
+        if (index == 3) return new int[]{1, 1};
+
+        int k2 = (int) ((index - 4) / 4) + 2;
+        return switch ((int) ((index - 4) % 4)) {
+            case 0 -> new int[]{0, k2};
+            case 1 -> new int[]{k2, 0};
+            case 2 -> new int[]{1, k2};
+            default -> new int[]{k2, 1};
+        };
+    }
+
+    /**
+     * Finds the first candidate in the sequential order whose polynomial is positive on the interval.
+     *
+     * @param a        The lower bound of the interval.
+     * @param b        The upper bound of the interval.
+     * @param listener Receives the checked candidates in the sequential order, up to and including the result.
+     * @return The first positive candidate, or an empty {@code Optional} if the time limit was reached.
+     */
+    public Optional<Candidate> search(double a, double b, Consumer<Candidate> listener) {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "mtp-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long deadline = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+
+        // Index of the first positive candidate found so far, later candidates are not needed anymore
+        AtomicLong firstPositive = new AtomicLong(Long.MAX_VALUE);
+        Deque<Future<Candidate>> running = new ArrayDeque<>();
+        long nextIndex = 0;
+        try {
+            while (true) {
+                while (running.size() < 2 * parallelism && nextIndex < firstPositive.get()) {
+                    running.addLast(executor.submit(check(nextIndex++, a, b, firstPositive, deadline)));
+                }
+
+                Candidate candidate;
+                try {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) return Optional.empty();
+                    candidate = running.removeFirst().get(remaining, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    return Optional.empty();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Checking a candidate failed.", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Optional.empty();
+                }
+
+                // The candidate was abandoned after the deadline
+                if (candidate == null) return Optional.empty();
+
+                // All earlier candidates are done, so the first positive one is the result of the sequential search
+                listener.accept(candidate);
+                if (candidate.getSgn() == 1) return Optional.of(candidate);
+            }
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Candidate was cancelled before the result was found.", e);
+        } finally {
+            // The running tasks stop at their next check, they are not awaited since a phase of Sturm's theorem or of
+            // the Bernstein certification can not be interrupted, and the daemon threads do not keep the program alive
+            running.forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Candidate> check(long index, double a, double b, AtomicLong firstPositive, long deadline) {
+        return () -> {
+            // A lower candidate is already positive, the result of this one would never be reported
+            if (isAbandoned(index, firstPositive, deadline)) return null;
+
+            int[] pair = getPair(index);
+            Polynomial px = builder.getPolynomial(pair[0], pair[1]);
+            if (isAbandoned(index, firstPositive, deadline)) return null;
+
+            // Positivity is certified on the Bernstein basis, Sturm's theorem only classifies the rejected candidates
+            boolean positive = BernsteinCertifier.certifyPositive(px, a, b).isPositive();
+            if (!positive && isAbandoned(index, firstPositive, deadline)) return null;
+
+            int sgnPx = positive ? 1 : RealPolynomial.findPolynomialSgn(a, b, px, false);
+            if (sgnPx == 1) firstPositive.accumulateAndGet(index, Math::min);
+            return new Candidate(pair[0], pair[1], px, sgnPx);
+        };
+    }
+
+    // The search was cancelled, timed out or found a lower positive candidate
+    private static boolean isAbandoned(long index, AtomicLong firstPositive, long deadline) {
+        return Thread.interrupted() || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) || index > firstPositive.get();
+    }
+}
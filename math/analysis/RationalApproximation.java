@@ -1,18 +1,42 @@
 package math.analysis;
 
+import math.util.LongHashSet;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+// Class to represent an approximation session for one target 'alpha', the denominator range is scanned in parallel chunks
+public class RationalApproximation implements AutoCloseable {
+    private static final int CHUNK_SIZE = 4096;
 
-public class RationalApproximation {
-    private static BigDecimal alpha = null;
+    private final BigDecimal alpha;
+    private final Mode mode;
+    private final ContinuedFraction continuedFraction;
+    private final ForkJoinPool pool;
 
     private static void showUsage() {
         System.out.println("""
                 Available options:
                 1. Set floor 'n' (minimum denominator value). Must be grater than 0.
                 2. Set limit 'm' (maximum denominator value). Must be grater than 0.
-                3. Set target 'alpha' (real number to be approximated)."""
+                3. Set target 'alpha' (real number to be approximated).
+                Program arguments:
+                --best         Print only the best approximations, found from the continued fraction of 'alpha'.
+                --brute-force  Determine the kinds by checking every smaller denominator.
+                --verify       Determine the kinds both ways and report the differences.
+                --parallelism=<threads>  Number of threads, all available processors by default.
+                --format=<csv|jsonl>     Stream the rows in a machine-readable format, CSV by default.
+                --top=<k>                Stream only the k fractions with the smallest errors.
+                --kind=<first|second>    Stream only the best approximations of the given kind."""
         );
     }
 
@@ -24,10 +48,20 @@ public class RationalApproximation {
         System.exit(-1);
     }
 
+    // How the kinds are determined: by the continued fraction of alpha, by the definitions, or by both, reporting differences
+    public enum Mode {
+        CONTINUED_FRACTION, BRUTE_FORCE, VERIFY
+    }
+
+    public enum OutputFormat {
+        CSV, JSONL
+    }
+
     public static class Fraction implements Comparable<Fraction> {
         private final int numerator;
         private final int denominator;
         private int kind; // 0 - 'not first-kind', 1 - 'first-kind', 2 - 'second-kind'
+        private BigDecimal errorAlpha, error, absoluteError; // Computed once for the target 'errorAlpha'
 
         public Fraction(int numerator, int denominator) {
             // Denominator cannot be zero
@@ -45,13 +79,24 @@ public class RationalApproximation {
         }
 
         public BigDecimal error(BigDecimal alpha) {
-            BigDecimal fractionValue = getFractionBigDecimal();
+            if (errorAlpha != alpha && (errorAlpha == null || errorAlpha.compareTo(alpha) != 0)) {
+                BigDecimal fractionValue = getFractionBigDecimal();
 
-            return fractionValue.subtract(alpha).setScale(18, RoundingMode.HALF_UP);
+                error = fractionValue.subtract(alpha).setScale(18, RoundingMode.HALF_UP);
+                absoluteError = error.abs();
+                errorAlpha = alpha;
+            }
+            return error;
         }
 
         public BigDecimal absoluteError(BigDecimal alpha) {
-            return error(alpha).abs();
+            error(alpha);
+            return absoluteError;
+        }
+
+        // Both numbers are coprime, so equal fractions have equal keys
+        static long key(int numerator, int denominator) {
+            return ((long) numerator << 32) | (denominator & 0xFFFFFFFFL);
         }
 
         /**
@@ -75,6 +120,10 @@ public class RationalApproximation {
             kind = isSecondKind(alpha) ? 2 : (isFirstKind(alpha) ? 1 : 0);
         }
 
+        public void setKind(ContinuedFraction continuedFraction) {
+            kind = continuedFraction.kindOf(numerator, denominator);
+        }
+
         public int getKind() {
             return kind;
         }
@@ -128,15 +177,19 @@ public class RationalApproximation {
             if (obj == null || getClass() != obj.getClass()) return false;
 
             Fraction fraction = (Fraction) obj;
-            BigDecimal thisValue = getFractionBigDecimal();
-            BigDecimal fractionValue = fraction.getFractionBigDecimal();
+            return numerator == fraction.numerator && denominator == fraction.denominator;
+        }
 
-            return thisValue.compareTo(fractionValue) == 0;
+        @Override
+        public int hashCode() {
+            return Long.hashCode(key(numerator, denominator));
         }
 
+        // Compares the absolute errors, the error of this fraction has to be computed first
         @Override
         public int compareTo(Fraction fraction) {
-            return absoluteError(alpha).compareTo(fraction.absoluteError(alpha));
+            if (errorAlpha == null) throw new IllegalStateException("The error of " + this + " has not been computed.");
+            return absoluteError(errorAlpha).compareTo(fraction.absoluteError(errorAlpha));
         }
 
         private int gcd(int a, int b) {
@@ -149,7 +202,7 @@ public class RationalApproximation {
             boolean isFirstKind = true;
 
             for (int s = 1; !this.equals(fraction = findRationalApproximation(s, alpha)); s++) {
-                if (this.compareTo(fraction) >= 0) {
+                if (absoluteError(alpha).compareTo(fraction.absoluteError(alpha)) >= 0) {
                     isFirstKind = false;
                     break;
                 }
@@ -179,61 +232,267 @@ public class RationalApproximation {
         }
     }
 
+    /**
+     * @param alpha       The target, rounded to 18 decimals.
+     * @param mode        How the kinds of the fractions are determined.
+     * @param parallelism The number of threads used by the session.
+     */
+    public RationalApproximation(BigDecimal alpha, Mode mode, int parallelism) {
+        if (alpha.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("Target ('alpha') value should be positive.");
+
+        this.alpha = alpha.setScale(18, RoundingMode.HALF_UP);
+        this.mode = mode;
+        continuedFraction = new ContinuedFraction(this.alpha);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    public BigDecimal getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
     public static void main(String[] args) {
+        Mode mode = Mode.CONTINUED_FRACTION;
+        boolean bestOnly = false;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        OutputFormat format = null;
+        IntPredicate kindFilter = null;
+        int top = 0;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (arg.contains("=") ? arg.substring(0, arg.indexOf('=')) : arg) {
+                case "--best" -> bestOnly = true;
+                case "--brute-force" -> mode = Mode.BRUTE_FORCE;
+                case "--verify" -> mode = Mode.VERIFY;
+                case "--parallelism" -> {
+                    parallelism = Integer.parseInt(value);
+                    if (parallelism <= 0) atExit("Invalid value for the parallelism.");
+                }
+                case "--format" -> {
+                    if (!value.equalsIgnoreCase("csv") && !value.equalsIgnoreCase("jsonl")) atExit("Unknown format '" + value + "'.");
+                    format = OutputFormat.valueOf(value.toUpperCase());
+                }
+                case "--top" -> {
+                    top = Integer.parseInt(value);
+                    if (top <= 0) atExit("Invalid value for 'k'.");
+                }
+                case "--kind" -> {
+                    if (!value.equals("first") && !value.equals("second")) atExit("Unknown kind '" + value + "'.");
+                    kindFilter = value.equals("first") ? kind -> kind > 0 : kind -> kind == 2;
+                }
+                default -> atExit("Unknown argument '" + arg + "'.");
+            }
+        }
+
+        // The rows are streamed if any of the streaming options is given, then the prompts go to the error stream
+        boolean streaming = format != null || top > 0 || kindFilter != null;
+        if (streaming && format == null) format = OutputFormat.CSV;
+        if (streaming && bestOnly && kindFilter == null) kindFilter = kind -> kind > 0;
+        PrintStream prompt = streaming ? System.err : System.out;
+
         // Get user input for n, m, and alpha
         int n, m;
         Scanner scanner = new Scanner(System.in);
 
-        System.out.println("Enter n, m and alpha respectively:");
+        prompt.println("Enter n, m and alpha respectively:");
 
-        System.out.print("Enter floor 'n': ");
+        prompt.print("Enter floor 'n': ");
         n = Integer.parseInt(scanner.next().trim());
         if (n <= 0) atExit("Invalid value for 'n'.");
 
-        System.out.print("Enter limit 'm': ");
+        prompt.print("Enter limit 'm': ");
         m = Integer.parseInt(scanner.next().trim());
         if (m <= 0) atExit("Invalid value for 'm'.");
 
-        System.out.print("Enter target 'alpha': ");
-        alpha = new BigDecimal(scanner.next().trim()).setScale(18, RoundingMode.HALF_UP);
+        prompt.print("Enter target 'alpha': ");
+        BigDecimal alpha = new BigDecimal(scanner.next().trim()).setScale(18, RoundingMode.HALF_UP);
         if (alpha.compareTo(BigDecimal.ZERO) <= 0) atExit("Invalid value for 'alpha'.");
 
-        // Find the rational approximations p / q
-        List<Fraction> fractions = getFractionsList(n, m);
+        if (streaming) prompt.println();
+        try (RationalApproximation session = new RationalApproximation(alpha, mode, parallelism)) {
+            if (streaming) {
+                session.streamFractions(n, m, kindFilter, top, format, System.out);
+                return;
+            }
+
+            // Find the rational approximations p / q
+            List<Fraction> fractions = bestOnly ? session.getBestFractionsList(n, m) : session.getFractionsList(n, m);
 
-        // Print the results
-        printSortedFractionsList(fractions);
+            // Print the results
+            session.printSortedFractionsList(fractions);
+        }
     }
 
     /**
-     * Generates a list of fractions with the denominator within the range [n, m].
+     * Generates a list of fractions with the denominator within the range [n, m], the list is the same as the one
+     * of the sequential scan.
      *
      * @param n The lower bound of the range.
      * @param m The upper bound of the range.
-     * @return A list of fractions within the specified range.
+     * @return A list of fractions within the specified range, in the order of their first denominator.
      */
-    private static List<Fraction> getFractionsList(int n, int m) {
+    public List<Fraction> getFractionsList(int n, int m) {
+        // The chunks are deduplicated on their own, so only the first occurrence over all chunks has to be kept
+        List<Fraction> candidates = pool.invoke(new ScanTask(n, m, n));
         List<Fraction> fractions = new ArrayList<>();
-        int q = n;
+        LongHashSet keys = new LongHashSet(candidates.size());
+        for (Fraction fraction : candidates) {
+            if (keys.add(Fraction.key(fraction.getNumerator(), fraction.getDenominator()))) fractions.add(fraction);
+        }
 
-        // Loop through the range [n, m] to find fractions
-        outerLoop:
-        while (q <= m) {
-            Fraction fraction = Fraction.findRationalApproximation(q++, alpha);
+        // Each kind depends only on its fraction, so they are determined in parallel
+        List<String> differences = pool.submit(() -> IntStream.range(0, fractions.size()).parallel()
+                .mapToObj(i -> setKind(fractions.get(i)))
+                .toList()).join();
+        differences.forEach(RationalApproximation::reportDifference);
+        return fractions;
+    }
 
-            // Check if 'fraction' should be added to the list
-            if (fraction.getDenominator() < n) continue;
+    // Scans the denominators [from, to], splitting the range until the chunks are small enough
+    private class ScanTask extends RecursiveTask<List<Fraction>> {
+        private static final long serialVersionUID = 1L;
 
-            // Check if 'fraction' is already in the list
-            if (!fractions.isEmpty()) {
-                for (Fraction otherFraction : fractions) {
-                    if (fraction.equals(otherFraction))
-                        continue outerLoop;
-                }
+        private final int from;
+        private final int to;
+        private final int n;
+
+        private ScanTask(int from, int to, int n) {
+            this.from = from;
+            this.to = to;
+            this.n = n;
+        }
+
+        @Override
+        protected List<Fraction> compute() {
+            if ((long) to - from < CHUNK_SIZE) return scan();
+
+            int middle = (int) (((long) from + to) >>> 1);
+            ScanTask left = new ScanTask(from, middle, n);
+            left.fork();
+            List<Fraction> right = new ScanTask(middle + 1, to, n).compute();
+            List<Fraction> fractions = left.join();
+            fractions.addAll(right);
+            return fractions;
+        }
+
+        private List<Fraction> scan() {
+            List<Fraction> fractions = new ArrayList<>();
+            LongHashSet keys = new LongHashSet();
+
+            // Loop through the range [from, to] to find fractions
+            for (long q = from; q <= to; q++) {
+                Fraction fraction = Fraction.findRationalApproximation((int) q, alpha);
+
+                // Check if 'fraction' should be added to the list
+                if (fraction.getDenominator() < n) continue;
+
+                // Check if 'fraction' is already in the chunk
+                if (keys.add(Fraction.key(fraction.getNumerator(), fraction.getDenominator()))) fractions.add(fraction);
+            }
+            return fractions;
+        }
+    }
+
+    /**
+     * Writes the fractions with the denominator within the range [n, m] row by row, the memory used does not depend on m.
+     * A fraction is found first at its reduced denominator, so the other denominators can be skipped without a set.
+     *
+     * @param n          The lower bound of the range.
+     * @param m          The upper bound of the range.
+     * @param kindFilter Keeps only the fractions of the accepted kinds, {@code null} to keep all of them.
+     * @param top        Keeps only the top fractions with the smallest errors, sorted, or 0 to write them in the order of q.
+     * @param format     The format of the rows.
+     * @param out        The destination of the rows.
+     */
+    public void streamFractions(int n, int m, IntPredicate kindFilter, int top, OutputFormat format, PrintStream out) {
+        // Same order as the sorted list: by the error, then by the denominator
+        Comparator<Fraction> order = Comparator.<Fraction>naturalOrder().thenComparingInt(Fraction::getDenominator);
+        PriorityQueue<Fraction> best = top > 0 ? new PriorityQueue<>(top + 1, order.reversed()) : null;
+
+        PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out)));
+        if (format == OutputFormat.CSV) writer.println("p,q,kind,error,continued_fraction");
+        for (long q = n; q <= m; q++) {
+            Fraction fraction = Fraction.findRationalApproximation((int) q, alpha);
+            if (fraction.getDenominator() != q) continue;
+
+            if (kindFilter != null) {
+                reportDifference(setKind(fraction));
+                if (!kindFilter.test(fraction.getKind())) continue;
+            }
+
+            if (best == null) {
+                writeRow(writer, fraction, kindFilter == null, format);
+                continue;
+            }
+
+            fraction.absoluteError(alpha);
+            if (best.size() < top) best.add(fraction);
+            else if (order.compare(fraction, best.peek()) < 0) {
+                best.poll();
+                best.add(fraction);
             }
+        }
+
+        if (best != null) {
+            List<Fraction> fractions = new ArrayList<>(best);
+            fractions.sort(order);
+            for (Fraction fraction : fractions) writeRow(writer, fraction, kindFilter == null, format);
+        }
+        writer.flush();
+    }
+
+    private void writeRow(PrintWriter writer, Fraction fraction, boolean setKind, OutputFormat format) {
+        if (setKind) reportDifference(setKind(fraction));
+
+        String continuedFraction = fraction.getContinuedFraction();
+        switch (format) {
+            case CSV -> writer.println(fraction.getNumerator() + "," + fraction.getDenominator() + "," + fraction.getKind() + ","
+                    + fraction.error(alpha).toPlainString() + ",\"" + continuedFraction + "\"");
+            case JSONL -> writer.println("{\"p\":" + fraction.getNumerator() + ",\"q\":" + fraction.getDenominator()
+                    + ",\"kind\":" + fraction.getKind() + ",\"error\":\"" + fraction.error(alpha).toPlainString()
+                    + "\",\"continued_fraction\":" + continuedFraction.replace(" ", "") + "}");
+        }
+    }
+
+    private static void reportDifference(String difference) {
+        if (difference != null) System.err.println(difference);
+    }
+
+    // Sets the kind of the fraction, returns the difference found in the VERIFY mode or null
+    private String setKind(Fraction fraction) {
+        switch (mode) {
+            case CONTINUED_FRACTION -> fraction.setKind(continuedFraction);
+            case BRUTE_FORCE -> fraction.setKind(alpha);
+            case VERIFY -> {
+                fraction.setKind(continuedFraction);
+                int kind = fraction.getKind();
+                fraction.setKind(alpha);
+                if (kind != fraction.getKind())
+                    return "Kind of " + fraction + ": " + fraction.getKind() + " by definition, " + kind + " by continued fraction.";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates the list of the best rational approximations with the denominator within the range [n, m],
+     * using only the convergents and semiconvergents of alpha.
+     *
+     * @param n The lower bound of the range.
+     * @param m The upper bound of the range.
+     * @return A list of fractions of the first and the second kind within the specified range.
+     */
+    public List<Fraction> getBestFractionsList(int n, int m) {
+        List<Fraction> fractions = new ArrayList<>();
+        for (long[] approximation : continuedFraction.bestApproximations(n, m)) {
+            if (approximation[0] > Integer.MAX_VALUE) break;
 
-            // Add fraction to the list
-            fraction.setKind(alpha);
+            Fraction fraction = new Fraction((int) approximation[0], (int) approximation[1]);
+            fraction.setKind(continuedFraction);
             fractions.add(fraction);
         }
         return fractions;
@@ -244,13 +503,14 @@ public class RationalApproximation {
      *
      * @param fractions The list of fractions to be printed.
      */
-    private static void printSortedFractionsList(List<Fraction> fractions) {
+    public void printSortedFractionsList(List<Fraction> fractions) {
         // Define ANSI escape codes for color
         String resetColor = "\u001B[0m";
         String blueColor = "\u001B[34m";
         String redColor = "\u001B[31m";
 
-        // Sort the fractions
+        // Sort the fractions, the absolute errors are computed once and cached
+        fractions.forEach(fraction -> fraction.absoluteError(alpha));
         Collections.sort(fractions);
 
         // Print the header
@@ -4,6 +4,7 @@ import math.util.Fraction;
 import math.util.Polynomial;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Arrays;
 import java.util.Collections;
@@ -36,27 +37,136 @@ public class RealPolynomial {
     }
 
     public static void main(String[] args) {
-        // Enter the value of 'k'
+        // Enter the value of 'k', or 'auto' for the adaptive precision
         Scanner scanner = new Scanner(System.in);
 
         System.out.print("Enter the value for k: ");
-        int k = Integer.parseInt(scanner.next().trim());
+        String kToken = scanner.next().trim();
+        boolean adaptive = kToken.equalsIgnoreCase("auto");
+        int k = adaptive ? 0 : Integer.parseInt(kToken);
 
         // Enter values of [a, b]
         System.out.print("Enter the bounds of the segment [a, b]: ");
         double a = Double.parseDouble(scanner.next().trim()), b = Double.parseDouble(scanner.next().trim());
 
         // Create rational coefficients
-        createRationalCoefficients(k);
+        if (adaptive) {
+            AdaptiveApproximation approximation = approximateAdaptively(realCoefficients, a, b);
+            System.arraycopy(approximation.getRationalCoefficients(), 0, rationalCoefficients, 0, rationalCoefficients.length);
+            System.out.println("\nPrecisions k of the coefficients: " + Arrays.toString(approximation.getPrecisions())
+                    + " (" + approximation.getSteps() + " steps)");
+        } else createRationalCoefficients(k);
 
         // Evaluate P(x) and Q(x)
-        Polynomial qx = new Polynomial((Fraction[]) invertCoefficientsOrder(rationalCoefficients));
-        System.out.println("\nP(x) = " + printRealPolynomial((BigDecimal[]) invertCoefficientsOrder(realCoefficients)));
+        Polynomial qx = new Polynomial((Fraction[]) invertCoefficientsOrder(rationalCoefficients.clone()));
+        System.out.println("\nP(x) = " + printRealPolynomial((BigDecimal[]) invertCoefficientsOrder(realCoefficients.clone())));
         System.out.println("Q(x) = " + qx);
 
         findPolynomialSgn(a, b, qx, true);
     }
 
+    // The rational approximation found by the adaptive mode
+    public static class AdaptiveApproximation {
+        private final Fraction[] rationalCoefficients;
+        private final int[] precisions;
+        private final int sgn;
+        private final int steps;
+
+        private AdaptiveApproximation(Fraction[] rationalCoefficients, int[] precisions, int sgn, int steps) {
+            this.rationalCoefficients = rationalCoefficients;
+            this.precisions = precisions;
+            this.sgn = sgn;
+            this.steps = steps;
+        }
+
+        // Coefficients of Q(x) in the same order as the real coefficients
+        public Fraction[] getRationalCoefficients() {
+            return rationalCoefficients.clone();
+        }
+
+        // Number of decimals kept of each coefficient, after its leading zeros
+        public int[] getPrecisions() {
+            return precisions.clone();
+        }
+
+        public int getSgn() {
+            return sgn;
+        }
+
+        // Number of Sturm sign determinations
+        public int getSteps() {
+            return steps;
+        }
+    }
+
+    /**
+     * Rounds down the real coefficients, raising the precision only of the coefficients whose rounding error
+     * dominates on [a, b], until the sign of P(x) on [a, b] is certified. Q(x) <= P(x) <= R(x) on [a, b], where R(x)
+     * is rounded up, so P(x) is positive when Q(x) is and negative when R(x) is.
+     *
+     * @param realCoefficients The coefficients of P(x), starting with the leading one.
+     * @param a                The lower bound of the segment, not negative since the bounds hold only for x >= 0.
+     * @param b                The upper bound of the segment.
+     * @return The cheapest approximation found, with sgn 1 or -1, or 2 if P(x) certainly changes sign on [a, b].
+     */
+    public static AdaptiveApproximation approximateAdaptively(BigDecimal[] realCoefficients, double a, double b) {
+        if (a < 0) throw new IllegalArgumentException("The segment has to be within [0, +inf), the rounded coefficients do not bound P(x) for x < 0.");
+
+        int n = realCoefficients.length;
+        Fraction[] approximations = new Fraction[n];
+        int[] precisions = new int[n], leadingZeros = new int[n];
+        boolean[] exact = new boolean[n];
+
+        // The leading zeros and the exact coefficients are computed only once
+        for (int i = 0; i < n; i++) {
+            leadingZeros[i] = countLeadingZeros(realCoefficients[i]);
+            precisions[i] = 1;
+            approximations[i] = getRationalCoefficient(realCoefficients[i], precisions[i], leadingZeros[i]);
+            exact[i] = isExact(realCoefficients[i], precisions[i], leadingZeros[i]);
+        }
+
+        // log10 of the largest |x| on [a, b], the error of coefficient i is at most 10^-(zeros + k) * |x|^(n - 1 - i)
+        double logMaxX = Math.log10(Math.max(Math.max(Math.abs(a), Math.abs(b)), Double.MIN_NORMAL));
+
+        int steps = 0, sgn;
+        while (true) {
+            Polynomial qx = new Polynomial((Fraction[]) invertCoefficientsOrder(approximations.clone()));
+            sgn = findPolynomialSgn(a, b, qx, false);
+            steps++;
+            if (sgn == 1) break;
+            if (sgn == -1 || sgn == 2) {
+                Polynomial rx = roundedPolynomial(realCoefficients, precisions, leadingZeros, RoundingMode.CEILING);
+                if (sgn == -1 && findPolynomialSgn(a, b, rx, false) == -1) break;
+                if (sgn == 2 && changesSign(qx, rx, a, b)) break;
+            }
+
+            // Raise the precision of the coefficients whose error is within a factor of 10 of the largest error,
+            // only they are rounded again, and Sturm's theorem is applied again only once one of them changed
+            boolean changed = false;
+            while (!changed) {
+                double[] logErrors = new double[n];
+                double maxLogError = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < n; i++) {
+                    logErrors[i] = exact[i] ? Double.NEGATIVE_INFINITY : (n - 1 - i) * logMaxX - leadingZeros[i] - precisions[i];
+                    maxLogError = Math.max(maxLogError, logErrors[i]);
+                }
+                if (maxLogError == Double.NEGATIVE_INFINITY) break; // Q(x) = P(x), more precision can not help
+
+                for (int i = 0; i < n; i++) {
+                    if (logErrors[i] < maxLogError - 1) continue;
+
+                    precisions[i]++;
+                    Fraction approximation = getRationalCoefficient(realCoefficients[i], precisions[i], leadingZeros[i]);
+                    exact[i] = isExact(realCoefficients[i], precisions[i], leadingZeros[i]);
+                    changed |= !approximation.equals(approximations[i]);
+                    approximations[i] = approximation;
+                }
+            }
+            if (!changed) break;
+        }
+        return new AdaptiveApproximation(approximations, precisions, sgn, steps);
+    }
+
     private static void createRationalCoefficients(int k) {
         for (int i = 0; i < realCoefficients.length; i++) {
             int degree = countLeadingZeros(realCoefficients[i]);
@@ -65,7 +175,7 @@ public class RealPolynomial {
     }
 
     private static int countLeadingZeros(BigDecimal coefficient) {
-        if (coefficient.equals(BigDecimal.ZERO)) return -1;
+        if (coefficient.signum() == 0) return -1;
 
         BigDecimal divisor = new BigDecimal(10);
         BigDecimal quotient = new BigDecimal(String.valueOf(coefficient));
@@ -79,19 +189,37 @@ public class RealPolynomial {
         return leadingZeros;
     }
 
+    private static Polynomial roundedPolynomial(BigDecimal[] realCoefficients, int[] precisions, int[] leadingZeros,
+                                                RoundingMode roundingMode) {
+        Fraction[] approximations = new Fraction[realCoefficients.length];
+        for (int i = 0; i < approximations.length; i++) {
+            approximations[i] = getRationalCoefficient(realCoefficients[i], precisions[i], leadingZeros[i], roundingMode);
+        }
+        return new Polynomial((Fraction[]) invertCoefficientsOrder(approximations));
+    }
+
+    // Checks if P(x) certainly changes sign on [a, b], Q(x) <= P(x) <= R(x) for x >= 0 where R(x) is rounded up
+    private static boolean changesSign(Polynomial qx, Polynomial rx, double a, double b) {
+        Fraction fractionA = new Fraction(a), fractionB = new Fraction(b);
+        boolean positive = qx.signAt(fractionA) > 0 || qx.signAt(fractionB) > 0;
+        boolean negative = rx.signAt(fractionA) < 0 || rx.signAt(fractionB) < 0;
+        return positive && negative;
+    }
+
+    // Rounds the coefficient down to k decimals after its leading zeros, scaling exactly by 10^(degree + k)
     private static Fraction getRationalCoefficient(BigDecimal coefficient, int k, int degree) {
-        if (coefficient.equals(BigDecimal.ZERO)) return Fraction.ZERO;
+        return getRationalCoefficient(coefficient, k, degree, RoundingMode.FLOOR);
+    }
 
-        int numerator, denominator;
-        BigDecimal multiplier1 = BigDecimal.valueOf(Math.pow(10, degree));
-        BigDecimal multiplier2 = BigDecimal.valueOf(Math.pow(10, k));
+    private static Fraction getRationalCoefficient(BigDecimal coefficient, int k, int degree, RoundingMode roundingMode) {
+        if (coefficient.signum() == 0) return Fraction.ZERO;
 
-        numerator = coefficient
-                .multiply(multiplier1).setScale(k, RoundingMode.FLOOR)
-                .multiply(multiplier2).intValue();
-        denominator = multiplier1.multiply(multiplier2).intValue();
+        BigDecimal rounded = coefficient.setScale(degree + k, roundingMode);
+        return new Fraction(rounded.unscaledValue(), BigInteger.TEN.pow(degree + k));
+    }
 
-        return new Fraction(numerator, denominator);
+    private static boolean isExact(BigDecimal coefficient, int k, int degree) {
+        return coefficient.signum() == 0 || coefficient.stripTrailingZeros().scale() <= degree + k;
     }
 
     private static Object[] invertCoefficientsOrder(Object[] coefficients) {
@@ -136,12 +264,13 @@ public class RealPolynomial {
 
     public static int findPolynomialSgn(double a, double b, Polynomial qx, boolean printResults) {
         // Sturm's theorem
-        int nOfRoots = PolynomialRootFinder.sturmTheorem(qx, a - 0.1, b, false);
+        int nOfRoots = new SturmSequence(qx).countRoots(a - 0.1, b);
         if (printResults)
             System.out.println("\nNumber of roots of the polynomial Q(x) in the interval (" + (a - 0.1) + ", " + b + "]: " + nOfRoots);
 
         // Print sgn[Q(x)]
         int sgnQx = getSgn(a, b, qx, nOfRoots, printResults);
+        if (sgnQx == 3) sgnQx = certifySgn(a, b, qx);
         if (printResults) printSgn(a, b, sgnQx);
         return sgnQx; // -1: negative, 1: positive, 2: alternates sign, 3: undetermined
     }
@@ -165,37 +294,56 @@ public class RealPolynomial {
         }
     }
 
+    // Decides the sign of Q(x) inside (a, b) on the Bernstein basis, the result is undetermined for an empty interval
+    // and when Q(x) only touches zero inside (a, b) without changing its sign
+    private static int certifySgn(double a, double b, Polynomial qx) {
+        if (a >= b) return 3;
+        if (BernsteinCertifier.certifyPositive(qx, a, b).isPositive()) return 1;
+        if (BernsteinCertifier.certifyPositive(qx.negate(), a, b).isPositive()) return -1;
+        return changesSignInside(a, b, qx) ? 2 : 3;
+    }
+
+    // Q(x) changes sign inside (a, b) if and only if it has a root of odd multiplicity there
+    private static boolean changesSignInside(double a, double b, Polynomial qx) {
+        List<Polynomial> factors = RootIsolation.squareFreeFactorization(qx);
+        Polynomial oddPart = new Polynomial(Fraction.ONE, 0);
+        for (int i = 0; i < factors.size(); i += 2) oddPart = oddPart.multiply(factors.get(i));
+        if (oddPart.getDegree() == 0) return false;
+
+        // Sturm's theorem counts the roots in (a, b], a root at b itself is excluded
+        Fraction fractionA = new Fraction(a), fractionB = new Fraction(b);
+        int roots = new SturmSequence(oddPart).countRoots(fractionA, fractionB);
+        return roots - (oddPart.signAt(fractionB) == 0 ? 1 : 0) > 0;
+    }
+
     private static int getSgn(double a, double b, Polynomial qx, int nOfRoots, boolean printResults) {
         int sgnQx; // -1: negative, 1: positive, 2: alternates sign, 3: undetermined
 
-        // Evaluate polynomial at 'a' and 'b'
-        Fraction pValueA = qx.evaluate(new Fraction(a));
-        Fraction pValueB = qx.evaluate(new Fraction(b));
-
-        // Evaluate the sgn of Q(x)
-        int sgnA = pValueA.compareTo(Fraction.ZERO);
-        int sgnB = pValueB.compareTo(Fraction.ZERO);
+        // Evaluate the sgn of Q(x) at 'a' and 'b', the values themselves are needed only for printing
+        Fraction fractionA = new Fraction(a), fractionB = new Fraction(b);
+        int sgnA = qx.signAt(fractionA);
+        int sgnB = qx.signAt(fractionB);
         switch (nOfRoots) {
             case 0, 1, 2 -> {
                 if ((sgnA == 0 || sgnB == 0)) {
-                    Fraction value = sgnA == 0 ? pValueB : pValueA;
                     int sgn = sgnA == 0 ? sgnB : sgnA;
                     if (printResults) {
+                        Fraction value = qx.evaluate(sgnA == 0 ? fractionB : fractionA);
                         System.out.println("The polynomial Q(x) has a root at point x = " + (sgnA == 0 ? a : b) + ".");
                         System.out.print("Q(x = " + (sgnA == 0 ? b : a) + ") = " + value + ((sgn > 0) ? " > 0" : " < 0"));
                     }
                     sgnQx = nOfRoots == 2 ? 2 : ((sgn > 0) ? 1 : -1); // Let's assume the other root is inside [a, b] for nOfRoots == 2
                 } else if ((sgnA > 0 && sgnB < 0) || (sgnA < 0 && sgnB > 0) && nOfRoots != 2) {
                     if (printResults) {
-                        System.out.println("Q(x = " + a + ") = " + pValueA + ((sgnA > 0) ? " > 0" : " < 0"));
-                        System.out.println("Q(x = " + b + ") = " + pValueB + ((sgnB > 0) ? " > 0" : " < 0"));
+                        System.out.println("Q(x = " + a + ") = " + qx.evaluate(fractionA) + ((sgnA > 0) ? " > 0" : " < 0"));
+                        System.out.println("Q(x = " + b + ") = " + qx.evaluate(fractionB) + ((sgnB > 0) ? " > 0" : " < 0"));
                         System.out.println("\nThe polynomial Q(x) has a root on the segment [" + a + ", " + b + "].");
                     }
                     sgnQx = 2;
                 } else if (nOfRoots != 2) { // No roots inside [a, b]
                     if (printResults) {
-                        System.out.println("Q(x = " + a + ") = " + pValueA + ((sgnA > 0) ? " > 0" : " < 0"));
-                        System.out.println("Q(x = " + b + ") = " + pValueB + ((sgnA > 0) ? " > 0" : " < 0"));
+                        System.out.println("Q(x = " + a + ") = " + qx.evaluate(fractionA) + ((sgnA > 0) ? " > 0" : " < 0"));
+                        System.out.println("Q(x = " + b + ") = " + qx.evaluate(fractionB) + ((sgnA > 0) ? " > 0" : " < 0"));
                         System.out.println("\nThe polynomial Q(x) has a root in the interval (" + (a - 0.1) + ", " + a + "].");
                     }
                     sgnQx = (sgnA > 0) ? 1 : -1;
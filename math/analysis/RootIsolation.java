@@ -0,0 +1,235 @@
+package math.analysis;
+
+import math.util.Fraction;
+import math.util.Interval;
+import math.util.Polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+// Class to isolate all real roots of a polynomial, using Descartes' rule of signs with bisection (Vincent-Collins-Akritas)
+public final class RootIsolation {
+    private RootIsolation() {
+    }
+
+    public static class IsolatedRoot {
+        private final Interval interval;
+        private final int multiplicity;
+
+        public IsolatedRoot(Interval interval, int multiplicity) {
+            this.interval = interval;
+            this.multiplicity = multiplicity;
+        }
+
+        // Interval (a, b) containing exactly one root, a == b if the root is rational and known exactly
+        public Interval getInterval() {
+            return interval;
+        }
+
+        public int getMultiplicity() {
+            return multiplicity;
+        }
+
+        public boolean isExact() {
+            return interval.getLowerBound().equals(interval.getUpperBound());
+        }
+
+        @Override
+        public String toString() {
+            String root = isExact() ? "x = " + interval.getLowerBound()
+                    : "x in (" + interval.getLowerBound() + ", " + interval.getUpperBound() + ")";
+            return root + ", multiplicity " + multiplicity;
+        }
+    }
+
+    /**
+     * Isolates the real roots of a polynomial into disjoint intervals.
+     *
+     * @param px The polynomial, it cannot be the zero polynomial.
+     * @return A list of isolated roots with their multiplicities, sorted in ascending order.
+     */
+    public static List<IsolatedRoot> isolateRoots(Polynomial px) {
+        if (px.isZero()) throw new IllegalArgumentException("The zero polynomial has infinitely many roots.");
+
+        // Isolate the roots of the square-free part, then find out which factor of px = f1 * f2^2 * ... each one belongs to
+        List<Interval> intervals = isolateRoots(toIntegers(px.squareFreePart()));
+        List<Polynomial> factors = squareFreeFactorization(px);
+
+        List<IsolatedRoot> roots = new ArrayList<>();
+        for (Interval interval : intervals) {
+            roots.add(new IsolatedRoot(interval, findMultiplicity(factors, interval)));
+        }
+        return roots;
+    }
+
+    // Returns the roots of a square-free integer polynomial, sorted in ascending order
+    private static List<Interval> isolateRoots(BigInteger[] p) {
+        List<Interval> intervals = new ArrayList<>();
+
+        // Root x = 0, divide it out
+        if (p[0].signum() == 0) {
+            intervals.add(new Interval(Fraction.ZERO, Fraction.ZERO));
+            BigInteger[] quotient = new BigInteger[p.length - 1];
+            System.arraycopy(p, 1, quotient, 0, quotient.length);
+            p = quotient;
+        }
+
+        // Positive roots of p(x) and negative roots as positive roots of p(-x)
+        BigInteger[] reflected = p.clone();
+        for (int i = 1; i < reflected.length; i += 2) reflected[i] = reflected[i].negate();
+        for (Interval interval : isolatePositiveRoots(reflected)) {
+            intervals.add(new Interval(interval.getUpperBound().negate(), interval.getLowerBound().negate()));
+        }
+        intervals.addAll(isolatePositiveRoots(p));
+
+        intervals.sort(Comparator.comparing(Interval::getLowerBound));
+        return intervals;
+    }
+
+    private static List<Interval> isolatePositiveRoots(BigInteger[] p) {
+        List<Interval> intervals = new ArrayList<>();
+        if (p.length == 1) return intervals;
+
+        // All positive roots are in (0, 2^k), q(x) = p(2^k * x) has them in (0, 1)
+        int k = rootBoundExponent(p);
+        BigInteger[] q = new BigInteger[p.length];
+        for (int i = 0; i < p.length; i++) q[i] = p[i].shiftLeft(k * i);
+
+        // Node (q, c, depth) stands for the interval (c / 2^depth, (c + 1) / 2^depth) * 2^k
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(new Node(q, BigInteger.ZERO, 0));
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+
+            int variations = descartesBound(node.q);
+            if (variations == 0) continue;
+            if (variations == 1) {
+                intervals.add(new Interval(toFraction(node.c, node.depth, k), toFraction(node.c.add(BigInteger.ONE), node.depth, k)));
+                continue;
+            }
+
+            // Bisection, left(x) = 2^n * q(x / 2) and right(x) = left(x + 1)
+            BigInteger[] left = halve(node.q);
+            BigInteger[] right = taylorShift(left);
+            BigInteger c = node.c.shiftLeft(1);
+            if (right[0].signum() == 0) {
+                Fraction midpoint = toFraction(c.add(BigInteger.ONE), node.depth + 1, k);
+                intervals.add(new Interval(midpoint, midpoint));
+            }
+            nodes.push(new Node(right, c.add(BigInteger.ONE), node.depth + 1));
+            nodes.push(new Node(left, c, node.depth + 1));
+        }
+        return intervals;
+    }
+
+    private static class Node {
+        private final BigInteger[] q;
+        private final BigInteger c;
+        private final int depth;
+
+        private Node(BigInteger[] q, BigInteger c, int depth) {
+            this.q = q;
+            this.c = c;
+            this.depth = depth;
+        }
+    }
+
+    // Returns the upper bound for the number of roots of q in (0, 1), i.e. the sign variations of (x + 1)^n * q(1 / (x + 1))
+    private static int descartesBound(BigInteger[] q) {
+        BigInteger[] reversed = new BigInteger[q.length];
+        for (int i = 0; i < q.length; i++) reversed[i] = q[q.length - 1 - i];
+        BigInteger[] shifted = taylorShift(reversed);
+
+        int variations = 0, previousSign = 0;
+        for (BigInteger coefficient : shifted) {
+            int sign = coefficient.signum();
+            if (sign == 0) continue;
+
+            if (previousSign != 0 && sign != previousSign) variations++;
+            previousSign = sign;
+        }
+        return variations;
+    }
+
+    // Returns q(x + 1)
+    private static BigInteger[] taylorShift(BigInteger[] q) {
+        BigInteger[] result = q.clone();
+        int n = result.length - 1;
+        for (int i = 0; i < n; i++) {
+            for (int j = n - 1; j >= i; j--) {
+                result[j] = result[j].add(result[j + 1]);
+            }
+        }
+        return result;
+    }
+
+    // Returns 2^n * q(x / 2)
+    private static BigInteger[] halve(BigInteger[] q) {
+        int n = q.length - 1;
+        BigInteger[] result = new BigInteger[q.length];
+        for (int i = 0; i <= n; i++) result[i] = q[i].shiftLeft(n - i);
+        return result;
+    }
+
+    // Cauchy bound, all roots satisfy |x| < 1 + max|a_i / a_n| <= 2^k
+    private static int rootBoundExponent(BigInteger[] p) {
+        int maxBitLength = 0;
+        for (int i = 0; i < p.length - 1; i++) maxBitLength = Math.max(maxBitLength, p[i].bitLength());
+        return Math.max(0, maxBitLength - p[p.length - 1].bitLength() + 1) + 1;
+    }
+
+    private static Fraction toFraction(BigInteger c, int depth, int k) {
+        return depth >= k ? new Fraction(c, BigInteger.ONE.shiftLeft(depth - k)) : new Fraction(c.shiftLeft(k - depth));
+    }
+
+    private static BigInteger[] toIntegers(Polynomial primitive) {
+        BigInteger[] integers = new BigInteger[primitive.getDegree() + 1];
+        for (int i = 0; i < integers.length; i++) {
+            integers[i] = primitive.getCoefficient(i).getNumerator();
+        }
+        return integers;
+    }
+
+    // Yun's algorithm, returns f1, f2, ... (up to constant factors) such that px = f1 * f2^2 * f3^3 * ...
+    static List<Polynomial> squareFreeFactorization(Polynomial px) {
+        List<Polynomial> factors = new ArrayList<>();
+        Polynomial pxPrime = px.differentiate();
+        Polynomial a = Polynomial.modularGcd(px, pxPrime);
+        Polynomial b = px.divide(a);
+        Polynomial d = pxPrime.divide(a).subtract(b.differentiate());
+        while (b.getDegree() > 0) {
+            a = Polynomial.modularGcd(b, d);
+            factors.add(a);
+            Polynomial c = d.divide(a);
+            b = b.divide(a);
+            d = c.subtract(b.differentiate());
+        }
+        return factors;
+    }
+
+    private static int findMultiplicity(List<Polynomial> factors, Interval interval) {
+        Fraction a = interval.getLowerBound(), b = interval.getUpperBound();
+        for (int i = 0; i < factors.size(); i++) {
+            Polynomial factor = factors.get(i);
+            if (a.equals(b)) {
+                if (factor.signAt(a) == 0) return i + 1;
+                continue;
+            }
+
+            // The only root of the factor inside (a, b) is simple, but a bound can be another rational root
+            if (factor.signAt(a) == 0) factor = factor.divide(linearFactor(a));
+            if (factor.signAt(b) == 0) factor = factor.divide(linearFactor(b));
+            if (factor.signAt(a) * factor.signAt(b) < 0) return i + 1;
+        }
+        throw new IllegalStateException("No square-free factor has a root in " + interval + ".");
+    }
+
+    // Returns x - r
+    static Polynomial linearFactor(Fraction r) {
+        return new Polynomial(new Fraction[]{r.negate(), Fraction.ONE});
+    }
+}
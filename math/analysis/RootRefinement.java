@@ -0,0 +1,102 @@
+package math.analysis;
+
+import math.util.Fraction;
+import math.util.Interval;
+import math.util.Polynomial;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Class to refine isolating intervals of real roots to arbitrary precision, using Abbott's quadratic interval refinement
+public final class RootRefinement {
+    private RootRefinement() {
+    }
+
+    /**
+     * Refines an isolating interval of a root until its width is at most 2^(-bits).
+     *
+     * @param px       The polynomial.
+     * @param interval The interval (a, b) containing exactly one root of px, e.g. from {@code RootIsolation} or {@code SturmSequence}.
+     * @param bits     The required precision in bits.
+     * @return An interval (c, d) inside (a, b) that contains the root, or [r, r] if the rational root r was found.
+     */
+    public static Interval refine(Polynomial px, Interval interval, int bits) {
+        return refineSquareFree(px.squareFreePart(), interval, bits);
+    }
+
+    // Isolates all real roots of px and refines them in parallel, the order of the roots is preserved
+    public static List<RootIsolation.IsolatedRoot> refineRoots(Polynomial px, int bits) {
+        Polynomial squareFreePart = px.squareFreePart();
+        return RootIsolation.isolateRoots(px).parallelStream()
+                .map(root -> new RootIsolation.IsolatedRoot(refineSquareFree(squareFreePart, root.getInterval(), bits), root.getMultiplicity()))
+                .collect(Collectors.toList());
+    }
+
+    private static Interval refineSquareFree(Polynomial f, Interval interval, int bits) {
+        Fraction a = interval.getLowerBound(), b = interval.getUpperBound();
+        if (a.equals(b)) return interval;
+
+        // Both bounds can be rational roots themselves, divide them out first, f is square-free so each only once
+        boolean rootAtA = f.signAt(a) == 0, rootAtB = f.signAt(b) == 0;
+        if (rootAtA) f = f.divide(RootIsolation.linearFactor(a));
+        if (rootAtB) f = f.divide(RootIsolation.linearFactor(b));
+
+        // A sign change of the reduced polynomial means a root inside (a, b), otherwise the root is the upper bound
+        // of an interval (a, b] as given by SturmSequence
+        Fraction valueA = f.evaluate(a), valueB = f.evaluate(b);
+        int signA = valueA.signum();
+        if (signA * valueB.signum() >= 0) {
+            if (rootAtB) return new Interval(b, b);
+            throw new IllegalArgumentException("The interval " + interval + " does not isolate a root of the polynomial.");
+        }
+
+        // The interval is split into 2^exponent parts, the secant predicts the part containing the root
+        Fraction tolerance = new Fraction(BigInteger.ONE, BigInteger.ONE.shiftLeft(bits));
+        int exponent = 2;
+        while (b.subtract(a).compareTo(tolerance) > 0) {
+            Fraction width = b.subtract(a);
+            BigInteger parts = BigInteger.ONE.shiftLeft(exponent);
+            Fraction step = width.multiply(new Fraction(BigInteger.ONE, parts));
+
+            // Index of the grid point nearest to the secant root a + width * f(a) / (f(a) - f(b))
+            Fraction ratio = valueA.divide(valueA.subtract(valueB));
+            BigInteger index = ratio.getNumerator().shiftLeft(exponent + 1).add(ratio.getDenominator())
+                    .divide(ratio.getDenominator().shiftLeft(1));
+
+            Fraction point = a.add(step.multiply(new Fraction(index)));
+            Fraction value = f.evaluate(point);
+            if (value.signum() == 0) return new Interval(point, point);
+
+            // Try the part next to the grid point on the side of the root
+            Fraction neighbour = value.signum() == signA ? point.add(step) : point.subtract(step);
+            Fraction neighbourValue = f.evaluate(neighbour);
+            if (neighbourValue.signum() == 0) return new Interval(neighbour, neighbour);
+
+            if (neighbourValue.signum() != value.signum()) {
+                // Success, the convergence is quadratic
+                boolean rightOfPoint = value.signum() == signA;
+                a = rightOfPoint ? point : neighbour;
+                b = rightOfPoint ? neighbour : point;
+                valueA = rightOfPoint ? value : neighbourValue;
+                valueB = rightOfPoint ? neighbourValue : value;
+                exponent *= 2;
+            } else {
+                // Failure, fall back to bisection
+                Fraction midpoint = a.add(b).multiply(new Fraction(1, 2));
+                Fraction midpointValue = f.evaluate(midpoint);
+                if (midpointValue.signum() == 0) return new Interval(midpoint, midpoint);
+
+                if (midpointValue.signum() == signA) {
+                    a = midpoint;
+                    valueA = midpointValue;
+                } else {
+                    b = midpoint;
+                    valueB = midpointValue;
+                }
+                exponent = Math.max(2, exponent / 2);
+            }
+        }
+        return new Interval(a, b);
+    }
+}
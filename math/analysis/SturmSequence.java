@@ -0,0 +1,105 @@
+package math.analysis;
+
+import math.util.Fraction;
+import math.util.Interval;
+import math.util.Metrics;
+import math.util.Polynomial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Class to represent the Sturm sequence of a polynomial, built once and reused for any number of intervals
+public final class SturmSequence {
+    private final Polynomial polynomial;
+    private final Polynomial gcd;
+    private final List<Polynomial> polynomials;
+
+    public SturmSequence(Polynomial px) {
+        // Determine the GCD of P(x) and P'(x), P0(x) has the same roots as P(x), each of them simple
+        polynomial = px;
+        long start = Metrics.startPhase();
+        gcd = Polynomial.modularGcd(px, px.differentiate());
+        Metrics.endPhase(Metrics.Phase.GCD, start);
+
+        start = Metrics.startPhase();
+        Polynomial p0 = px.divideAndRemainder(gcd)[0].primitivePart();
+        Metrics.endPhase(Metrics.Phase.SQUARE_FREE_DIVISION, start);
+
+        // Sturm algorithm, each polynomial is kept as a positive multiple of its primitive part
+        start = Metrics.startPhase();
+        List<Polynomial> sturmSequence = new ArrayList<>();
+        sturmSequence.add(p0);
+        sturmSequence.add(p0.differentiate().primitivePart());
+        while (sturmSequence.get(sturmSequence.size() - 2).getDegree() > 1) {
+            Polynomial pi_1 = sturmSequence.get(sturmSequence.size() - 2);
+            Polynomial pi = sturmSequence.get(sturmSequence.size() - 1);
+            sturmSequence.add(negatedRemainder(pi_1, pi));
+        }
+        polynomials = Collections.unmodifiableList(sturmSequence);
+        Metrics.endPhase(Metrics.Phase.REMAINDER_SEQUENCE, start);
+        Metrics.sturmSequenceBuilt(polynomials);
+    }
+
+    public Polynomial getPolynomial() {
+        return polynomial;
+    }
+
+    public Polynomial getGcd() {
+        return gcd;
+    }
+
+    public List<Polynomial> getPolynomials() {
+        return polynomials;
+    }
+
+    // Returns the number of sign changes of the sequence at point x, zeros are skipped
+    public int signVariations(Fraction x) {
+        long start = Metrics.startPhase();
+        int signChanges = 0, previousSign = 0;
+        for (Polynomial pi : polynomials) {
+            int sign = pi.signAt(x);
+            if (sign == 0) continue;
+
+            if (previousSign != 0 && sign != previousSign) signChanges++;
+            previousSign = sign;
+        }
+        Metrics.endPhase(Metrics.Phase.SIGN_EVALUATION, start);
+        return signChanges;
+    }
+
+    // Returns the number of distinct roots of the polynomial in the interval (a, b]
+    public int countRoots(Fraction a, Fraction b) {
+        return signVariations(a) - signVariations(b);
+    }
+
+    public int countRoots(double a, double b) {
+        return countRoots(new Fraction(a), new Fraction(b));
+    }
+
+    public int countRoots(Interval interval) {
+        return countRoots(interval.getLowerBound(), interval.getUpperBound());
+    }
+
+    // Returns the number of roots in each of the intervals, shared bounds are evaluated only once
+    public int[] countRoots(List<Interval> intervals) {
+        Map<Fraction, Integer> signVariations = new HashMap<>();
+        int[] roots = new int[intervals.size()];
+        for (int i = 0; i < roots.length; i++) {
+            Interval interval = intervals.get(i);
+            roots[i] = signVariations.computeIfAbsent(interval.getLowerBound(), this::signVariations)
+                    - signVariations.computeIfAbsent(interval.getUpperBound(), this::signVariations);
+        }
+        return roots;
+    }
+
+    // Returns -remainder(pi_1, pi) multiplied by a positive constant, so the signs of the sequence are preserved
+    private static Polynomial negatedRemainder(Polynomial pi_1, Polynomial pi) {
+        // pseudoRemainder() multiplies the remainder by lc(pi)^(deg(pi_1) - deg(pi) + 1)
+        Polynomial remainder = pi_1.pseudoRemainder(pi).primitivePart();
+        boolean signChanged = pi.getLeadingCoefficient().signum() < 0 && (pi_1.getDegree() - pi.getDegree()) % 2 == 0;
+        return signChanged ? remainder : remainder.negate();
+    }
+}
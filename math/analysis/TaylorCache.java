@@ -0,0 +1,95 @@
+package math.analysis;
+
+import math.util.Factorials;
+import math.util.Fraction;
+import math.util.Polynomial;
+
+import java.math.BigInteger;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+// Class to cache the Maclaurin polynomials of cos(x) and sin(x) and their powers, shared by all MTP candidates
+final class TaylorCache {
+    private static final int MAX_ENTRIES = 512;
+
+    enum Function {
+        COS, SIN;
+
+        // Returns the sign of the term of degree 'exponent' of the series, 0 if the series has no such term
+        int termSgn(int exponent) {
+            if ((this == COS) != (exponent % 2 == 0)) return 0;
+            return (exponent / 2) % 2 == 0 ? 1 : -1;
+        }
+    }
+
+    private record Key(Function function, int order, int exponent) {
+    }
+
+    // Each entry is computed once by the thread that inserted it, the other threads wait for its future without locking
+    // the cache, the oldest entries are dropped once the cache is full
+    private static final ConcurrentHashMap<Key, CompletableFuture<Polynomial>> cache = new ConcurrentHashMap<>();
+    private static final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private TaylorCache() {
+    }
+
+    // Returns the Maclaurin polynomial of the function with all terms of degree <= order
+    static Polynomial series(Function function, int order) {
+        return get(new Key(function, order, 1), () -> computeSeries(function, order));
+    }
+
+    private static Polynomial computeSeries(Function function, int order) {
+        // Integer coefficients over the common denominator order!, the term of degree e is +-(order! / e!) / order!
+        BigInteger[] numerators = new BigInteger[order + 1];
+        BigInteger quotient = BigInteger.ONE;
+        for (int exponent = order; exponent >= 0; exponent--) {
+            int sgn = function.termSgn(exponent);
+            numerators[exponent] = sgn == 0 ? BigInteger.ZERO : (sgn > 0 ? quotient : quotient.negate());
+            quotient = quotient.multiply(BigInteger.valueOf(exponent));
+        }
+        return Polynomial.fromIntegers(numerators, Factorials.factorial(order));
+    }
+
+    // Returns series(function, order)^exponent, built by binary exponentiation from the cached lower powers
+    static Polynomial power(Function function, int order, int exponent) {
+        if (exponent == 0) return new Polynomial(Fraction.ONE, 0);
+        if (exponent == 1) return series(function, order);
+
+        return get(new Key(function, order, exponent), () -> {
+            Polynomial half = power(function, order, exponent / 2);
+            Polynomial power = half.multiply(half);
+            return exponent % 2 == 1 ? power.multiply(series(function, order)) : power;
+        });
+    }
+
+    // Returns the cached entry, computing it outside of any lock if it is missing, lower powers are computed first
+    // so the threads never wait for each other in a cycle
+    private static Polynomial get(Key key, Supplier<Polynomial> computation) {
+        CompletableFuture<Polynomial> future = cache.get(key);
+        if (future == null) {
+            CompletableFuture<Polynomial> created = new CompletableFuture<>();
+            future = cache.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                insertionOrder.add(key);
+                while (cache.size() > MAX_ENTRIES) {
+                    Key oldest = insertionOrder.poll();
+                    if (oldest == null) break;
+                    cache.remove(oldest);
+                }
+
+                try {
+                    created.complete(computation.get());
+                } catch (RuntimeException | Error e) {
+                    cache.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return future.join();
+    }
+}
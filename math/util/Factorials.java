@@ -0,0 +1,33 @@
+package math.util;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Class to provide exact factorials, the table grows on demand and is shared by all threads
+public final class Factorials {
+    private static volatile BigInteger[] factorials = {BigInteger.ONE};
+
+    private Factorials() {
+    }
+
+    public static BigInteger factorial(int n) {
+        if (n < 0) throw new IllegalArgumentException("Factorial of a negative number " + n + ".");
+
+        BigInteger[] table = factorials;
+        if (n < table.length) return table[n];
+        return grow(n)[n];
+    }
+
+    private static synchronized BigInteger[] grow(int n) {
+        BigInteger[] table = factorials;
+        if (n < table.length) return table;
+
+        // Grow at least twice, so the table is rebuilt only logarithmically many times
+        BigInteger[] newTable = Arrays.copyOf(table, Math.max(n + 1, 2 * table.length));
+        for (int i = table.length; i < newTable.length; i++) {
+            newTable[i] = newTable[i - 1].multiply(BigInteger.valueOf(i));
+        }
+        factorials = newTable;
+        return newTable;
+    }
+}
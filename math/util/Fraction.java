@@ -11,39 +11,90 @@ public class Fraction implements Comparable<Fraction> {
     public final static Fraction ZERO = new Fraction(0);
     public final static Fraction ONE = new Fraction(1);
 
-    private final BigInteger numerator;
-    private final BigInteger denominator;
+    // Values that fit into 63 bits are kept in 'num' and 'den' (then 'bigNum' and 'bigDen' are null),
+    // others are promoted to BigInteger. A fraction is always reduced and its denominator is positive.
+    private final long num;
+    private final long den;
+    private final BigInteger bigNum;
+    private final BigInteger bigDen;
 
     public Fraction(int numerator) {
-        this(BigInteger.valueOf(numerator));
+        this(numerator, 1L, null, null);
     }
 
     public Fraction(double number) {
-        int numberOfDecimals = numberOfDecimals(number);
-        numerator = BigInteger.valueOf((long) (number * Math.pow(10, numberOfDecimals)));
-        denominator = BigInteger.valueOf((long) Math.pow(10, numberOfDecimals));
+        this(valueOf(number));
     }
 
     public Fraction(int numerator, int denominator) {
-        this(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+        this(valueOf(numerator, denominator));
     }
 
     public Fraction(BigInteger numerator) {
-        this(numerator, BigInteger.ONE);
+        this(valueOf(numerator, BigInteger.ONE));
     }
 
     public Fraction(BigInteger numerator, BigInteger denominator) {
-        if (denominator.equals(BigInteger.ZERO)) throw new ArithmeticException("Denominator iz zero");
+        this(valueOf(numerator, denominator));
+    }
+
+    private Fraction(Fraction other) {
+        this(other.num, other.den, other.bigNum, other.bigDen);
+    }
+
+    private Fraction(long num, long den, BigInteger bigNum, BigInteger bigDen) {
+        this.num = num;
+        this.den = den;
+        this.bigNum = bigNum;
+        this.bigDen = bigDen;
+    }
+
+    public static Fraction valueOf(long numerator, long denominator) {
+        if (denominator == 0) throw new ArithmeticException("Denominator iz zero");
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)
+            return valueOf(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+
+        // Reduce fraction if needed
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long gcdValue = gcd(Math.abs(numerator), denominator);
+        if (gcdValue != 1) {
+            Metrics.count(Metrics.Counter.FRACTION_GCD_REDUCTION);
+            numerator /= gcdValue;
+            denominator /= gcdValue;
+        }
+        return new Fraction(numerator, denominator, null, null);
+    }
+
+    public static Fraction valueOf(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) throw new ArithmeticException("Denominator iz zero");
 
         // Reduce fraction if needed
-        BigInteger gcdValue;
-        while (!(gcdValue = gcd(numerator, denominator)).equals(BigInteger.ONE)) {
+        BigInteger gcdValue = numerator.gcd(denominator);
+        if (!gcdValue.equals(BigInteger.ONE)) {
+            Metrics.count(Metrics.Counter.FRACTION_GCD_REDUCTION);
             numerator = numerator.divide(gcdValue);
             denominator = denominator.divide(gcdValue);
         }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        return reduced(numerator, denominator);
+    }
+
+    private static Fraction valueOf(double number) {
+        int numberOfDecimals = numberOfDecimals(number);
+        return valueOf((long) (number * Math.pow(10, numberOfDecimals)), (long) Math.pow(10, numberOfDecimals));
+    }
 
-        this.numerator = denominator.compareTo(BigInteger.ZERO) < 0 ? numerator.negate() : numerator;
-        this.denominator = denominator.compareTo(BigInteger.ZERO) < 0 ? denominator.negate() : denominator;
+    // Creates an already reduced fraction, demoting it to longs if possible
+    private static Fraction reduced(BigInteger numerator, BigInteger denominator) {
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE && numerator.longValue() != Long.MIN_VALUE)
+            return new Fraction(numerator.longValue(), denominator.longValue(), null, null);
+        return new Fraction(0, 0, numerator, denominator);
     }
 
     public static Fraction[] getReversedFractionsList(Fraction[] values) {
@@ -64,34 +115,83 @@ public class Fraction implements Comparable<Fraction> {
     }
 
     public Fraction add(Fraction other) {
-        BigInteger newNumerator = numerator.multiply(other.denominator).add(other.numerator.multiply(denominator));
-        BigInteger newDenominator = denominator.multiply(other.denominator);
-        return new Fraction(newNumerator, newDenominator);
+        if (isSmall() && other.isSmall()) {
+            try {
+                long gcdValue = gcd(den, other.den);
+                long thisFactor = other.den / gcdValue, otherFactor = den / gcdValue;
+                long newNumerator = Math.addExact(Math.multiplyExact(num, thisFactor), Math.multiplyExact(other.num, otherFactor));
+                return valueOf(newNumerator, Math.multiplyExact(den, thisFactor));
+            } catch (ArithmeticException e) {
+                // Overflow, fall back to BigInteger
+            }
+        }
+        BigInteger newNumerator = getNumerator().multiply(other.getDenominator()).add(other.getNumerator().multiply(getDenominator()));
+        BigInteger newDenominator = getDenominator().multiply(other.getDenominator());
+        return valueOf(newNumerator, newDenominator);
     }
 
     public Fraction subtract(Fraction other) {
-        return this.add(new Fraction(other.numerator.negate(), other.denominator));
+        return this.add(other.negate());
     }
 
     public Fraction multiply(Fraction other) {
-        return new Fraction(numerator.multiply(other.numerator), denominator.multiply(other.denominator));
+        Metrics.count(Metrics.Counter.FRACTION_MULTIPLY);
+        return product(other);
+    }
+
+    private Fraction product(Fraction other) {
+        if (isSmall() && other.isSmall()) {
+            // Cross reduce first, so the result is already in lowest terms
+            if (num == 0 || other.num == 0) return ZERO;
+            long gcd1 = gcd(Math.abs(num), other.den), gcd2 = gcd(Math.abs(other.num), den);
+            if (gcd1 != 1 || gcd2 != 1) Metrics.count(Metrics.Counter.FRACTION_GCD_REDUCTION);
+            try {
+                long newNumerator = Math.multiplyExact(num / gcd1, other.num / gcd2);
+                long newDenominator = Math.multiplyExact(den / gcd2, other.den / gcd1);
+                if (newNumerator != Long.MIN_VALUE) return new Fraction(newNumerator, newDenominator, null, null);
+            } catch (ArithmeticException e) {
+                // Overflow, fall back to BigInteger
+            }
+        }
+        return valueOf(getNumerator().multiply(other.getNumerator()), getDenominator().multiply(other.getDenominator()));
     }
 
     public Fraction divide(Fraction other) {
-        Fraction reciprocal = new Fraction(other.denominator, other.numerator);
-        return this.multiply(reciprocal);
+        Metrics.count(Metrics.Counter.FRACTION_DIVIDE);
+        return this.product(other.reciprocal());
+    }
+
+    public Fraction negate() {
+        return isSmall() ? new Fraction(-num, den, null, null) : new Fraction(0, 0, bigNum.negate(), bigDen);
+    }
+
+    public Fraction reciprocal() {
+        if (isSmall()) {
+            if (num == 0) throw new ArithmeticException("Denominator iz zero");
+            return num < 0 ? new Fraction(-den, -num, null, null) : new Fraction(den, num, null, null);
+        }
+        return bigNum.signum() < 0 ? reduced(bigDen.negate(), bigNum.negate()) : reduced(bigDen, bigNum);
     }
 
     public BigInteger getNumerator() {
-        return numerator;
+        return isSmall() ? BigInteger.valueOf(num) : bigNum;
     }
 
     public BigInteger getDenominator() {
-        return denominator;
+        return isSmall() ? BigInteger.valueOf(den) : bigDen;
+    }
+
+    public int signum() {
+        return isSmall() ? Long.signum(num) : bigNum.signum();
     }
 
     public Fraction abs() {
-        return new Fraction(this.numerator.abs(), denominator);
+        return signum() < 0 ? negate() : this;
+    }
+
+    // Returns true if the fraction is stored as a pair of longs
+    boolean isSmall() {
+        return bigNum == null;
     }
 
     @Override
@@ -99,27 +199,57 @@ public class Fraction implements Comparable<Fraction> {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
 
+        // Both fractions are in canonical form, so the representations have to match
         Fraction fraction = (Fraction) obj;
-        return this.compareTo(fraction) == 0;
+        if (isSmall()) return fraction.isSmall() && num == fraction.num && den == fraction.den;
+        return !fraction.isSmall() && bigNum.equals(fraction.bigNum) && bigDen.equals(fraction.bigDen);
+    }
+
+    @Override
+    public int hashCode() {
+        return isSmall() ? Long.hashCode(num) * 31 + Long.hashCode(den) : bigNum.hashCode() * 31 + bigDen.hashCode();
     }
 
     @Override
     public String toString() {
-        return denominator.equals(BigInteger.ONE) ? "" + numerator : numerator + "/" + denominator;
+        if (isSmall()) return den == 1 ? "" + num : num + "/" + den;
+        return bigDen.equals(BigInteger.ONE) ? "" + bigNum : bigNum + "/" + bigDen;
     }
 
     @Override
     public int compareTo(Fraction fraction) {
-        BigInteger expression = numerator.multiply(fraction.denominator).subtract(denominator.multiply(fraction.numerator));
-        return expression.compareTo(BigInteger.ZERO);
+        if (isSmall() && fraction.isSmall()) {
+            if (den == fraction.den) return Long.compare(num, fraction.num);
+            try {
+                return Long.compare(Math.multiplyExact(num, fraction.den), Math.multiplyExact(den, fraction.num));
+            } catch (ArithmeticException e) {
+                // Overflow, fall back to BigInteger
+            }
+        }
+        BigInteger expression = getNumerator().multiply(fraction.getDenominator()).subtract(getDenominator().multiply(fraction.getNumerator()));
+        return expression.signum();
     }
 
-    private BigInteger gcd(BigInteger a, BigInteger b) {
-        if (b.equals(BigInteger.ZERO)) return a;
-        return gcd(b, a.remainder(b));
+    // Binary GCD of two non-negative longs
+    private static long gcd(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long temp = a;
+                a = b;
+                b = temp;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
     }
 
-    private int numberOfDecimals(double number) {
+    private static int numberOfDecimals(double number) {
         // Convert the double to BigDecimal to preserve precision
         BigDecimal decimal = BigDecimal.valueOf(number);
 
@@ -0,0 +1,58 @@
+package math.util;
+
+// Class to represent half-open intervals (a, b] with rational bounds
+public class Interval {
+    private final Fraction lowerBound;
+    private final Fraction upperBound;
+
+    public Interval(Fraction lowerBound, Fraction upperBound) {
+        if (lowerBound.compareTo(upperBound) > 0)
+            throw new IllegalArgumentException("Lower bound " + lowerBound + " is greater than upper bound " + upperBound + ".");
+
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public Interval(double lowerBound, double upperBound) {
+        this(new Fraction(lowerBound), new Fraction(upperBound));
+    }
+
+    public Fraction getLowerBound() {
+        return lowerBound;
+    }
+
+    public Fraction getUpperBound() {
+        return upperBound;
+    }
+
+    public Fraction getWidth() {
+        return upperBound.subtract(lowerBound);
+    }
+
+    public Fraction getMidpoint() {
+        return lowerBound.add(upperBound).multiply(new Fraction(1, 2));
+    }
+
+    public boolean contains(Fraction x) {
+        return lowerBound.compareTo(x) < 0 && x.compareTo(upperBound) <= 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        Interval interval = (Interval) obj;
+        return lowerBound.equals(interval.lowerBound) && upperBound.equals(interval.upperBound);
+    }
+
+    @Override
+    public int hashCode() {
+        return lowerBound.hashCode() * 31 + upperBound.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "(" + lowerBound + ", " + upperBound + "]";
+    }
+}
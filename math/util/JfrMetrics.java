@@ -0,0 +1,118 @@
+package math.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.Timespan;
+
+// Class to publish the metrics as JFR events, they are recorded only while a recording is running,
+// e.g. with -XX:StartFlightRecording
+public final class JfrMetrics implements Metrics.Listener {
+    private static final JfrMetrics instance = new JfrMetrics();
+    private static boolean registered = false;
+
+    @Name("math.SturmPhase")
+    @Label("Sturm Phase")
+    @Category("Polynomial Root Finder")
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    @Name("math.SturmElement")
+    @Label("Sturm Sequence Element")
+    @Category("Polynomial Root Finder")
+    static class ElementEvent extends Event {
+        @Label("Index")
+        int index;
+
+        @Label("Degree")
+        int degree;
+
+        @Label("Max Coefficient Bit Length")
+        int maxBitLength;
+
+        @Label("Average Coefficient Bit Length")
+        double averageBitLength;
+    }
+
+    @Name("math.OperationCounts")
+    @Label("Operation Counts")
+    @Category("Polynomial Root Finder")
+    @Period("1 s")
+    static class OperationCountsEvent extends Event {
+        @Label("Fraction Multiplications")
+        long fractionMultiplications;
+
+        @Label("Fraction Divisions")
+        long fractionDivisions;
+
+        @Label("Fraction GCD Reductions")
+        long fractionGcdReductions;
+
+        @Label("Polynomial Multiplications")
+        long polynomialMultiplications;
+
+        @Label("Polynomial Divisions")
+        long polynomialDivisions;
+
+        @Label("Sign Filter Hits")
+        long signFilterHits;
+
+        @Label("Sign Filter Fallbacks")
+        long signFilterFallbacks;
+    }
+
+    private JfrMetrics() {
+    }
+
+    // Enables the metrics and publishes them as JFR events, the operation counts are emitted every second
+    public static synchronized void register() {
+        Metrics.enable();
+        if (registered) return;
+
+        Metrics.addListener(instance);
+        FlightRecorder.addPeriodicEvent(OperationCountsEvent.class, () -> {
+            Metrics.Stats stats = Metrics.snapshot();
+            OperationCountsEvent event = new OperationCountsEvent();
+            event.fractionMultiplications = stats.getCount(Metrics.Counter.FRACTION_MULTIPLY);
+            event.fractionDivisions = stats.getCount(Metrics.Counter.FRACTION_DIVIDE);
+            event.fractionGcdReductions = stats.getCount(Metrics.Counter.FRACTION_GCD_REDUCTION);
+            event.polynomialMultiplications = stats.getCount(Metrics.Counter.POLYNOMIAL_MULTIPLY);
+            event.polynomialDivisions = stats.getCount(Metrics.Counter.POLYNOMIAL_DIVIDE);
+            event.signFilterHits = stats.getCount(Metrics.Counter.SIGN_FILTER_HIT);
+            event.signFilterFallbacks = stats.getCount(Metrics.Counter.SIGN_FILTER_FALLBACK);
+            event.commit();
+        });
+        registered = true;
+    }
+
+    @Override
+    public void phaseCompleted(Metrics.Phase phase, long nanos) {
+        PhaseEvent event = new PhaseEvent();
+        if (!event.isEnabled()) return;
+
+        event.phase = phase.name();
+        event.nanos = nanos;
+        event.commit();
+    }
+
+    @Override
+    public void sturmElementBuilt(int index, Metrics.ElementSize size) {
+        ElementEvent event = new ElementEvent();
+        if (!event.isEnabled()) return;
+
+        event.index = index;
+        event.degree = size.getDegree();
+        event.maxBitLength = size.getMaxBitLength();
+        event.averageBitLength = size.getAverageBitLength();
+        event.commit();
+    }
+}
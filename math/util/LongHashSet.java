@@ -0,0 +1,83 @@
+package math.util;
+
+// Class to represent a set of primitive long values, using open addressing with linear probing and no boxing
+public final class LongHashSet {
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys; // 0 marks an empty slot, the key 0 itself is stored in 'containsZero'
+    private boolean containsZero;
+    private int size;
+
+    public LongHashSet() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        keys = new long[tableSize(expectedSize)];
+    }
+
+    // Adds the key, returns false if it is already in the set
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) return false;
+            if (keys[i] == 0) {
+                keys[i] = key;
+                if (++size > keys.length / 2) resize();
+                return true;
+            }
+        }
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) return containsZero;
+
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        keys = new long[oldKeys.length * 2];
+
+        int mask = keys.length - 1;
+        for (long key : oldKeys) {
+            if (key == 0) continue;
+
+            int i = hash(key) & mask;
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+        }
+    }
+
+    // Fibonacci hashing, the high bits of the product depend on all bits of the key
+    private static int hash(long key) {
+        long product = key * 0x9E3779B97F4A7C15L;
+        return (int) (product ^ (product >>> 32));
+    }
+
+    // The table is kept at most half full
+    private static int tableSize(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < 2L * expectedSize && capacity < (1 << 30)) capacity <<= 1;
+        return capacity;
+    }
+}
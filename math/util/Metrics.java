@@ -0,0 +1,219 @@
+package math.util;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+// Class to collect operation counts, phase timings and coefficient sizes, disabled by default so that every hook
+// costs a single volatile read
+public final class Metrics {
+    public enum Counter {
+        FRACTION_MULTIPLY, FRACTION_DIVIDE, FRACTION_GCD_REDUCTION, POLYNOMIAL_MULTIPLY, POLYNOMIAL_DIVIDE,
+        SIGN_FILTER_HIT, // Signs decided by the interval arithmetic of SignFilter
+        SIGN_FILTER_FALLBACK // Signs that needed the exact evaluation
+    }
+
+    // Phases of building and evaluating a Sturm sequence
+    public enum Phase {
+        GCD, SQUARE_FREE_DIVISION, REMAINDER_SEQUENCE, SIGN_EVALUATION
+    }
+
+    // Receives the measurements as they are made, e.g. to record them as JFR events
+    public interface Listener {
+        void phaseCompleted(Phase phase, long nanos);
+
+        void sturmElementBuilt(int index, ElementSize size);
+    }
+
+    // Size of the coefficients of one element of a Sturm sequence
+    public static class ElementSize {
+        private final int degree;
+        private final int maxBitLength;
+        private final double averageBitLength;
+
+        public ElementSize(int degree, int maxBitLength, double averageBitLength) {
+            this.degree = degree;
+            this.maxBitLength = maxBitLength;
+            this.averageBitLength = averageBitLength;
+        }
+
+        public int getDegree() {
+            return degree;
+        }
+
+        public int getMaxBitLength() {
+            return maxBitLength;
+        }
+
+        public double getAverageBitLength() {
+            return averageBitLength;
+        }
+
+        @Override
+        public String toString() {
+            return "degree " + degree + ", max " + maxBitLength + " bits, avg " + String.format("%.1f", averageBitLength) + " bits";
+        }
+    }
+
+    // Snapshot of the collected values
+    public static class Stats {
+        private final Map<Counter, Long> counts;
+        private final Map<Phase, Long> phaseNanos;
+        private final Map<Phase, Long> phaseCounts;
+        private final List<ElementSize> lastSturmSequence;
+
+        private Stats(Map<Counter, Long> counts, Map<Phase, Long> phaseNanos, Map<Phase, Long> phaseCounts, List<ElementSize> lastSturmSequence) {
+            this.counts = counts;
+            this.phaseNanos = phaseNanos;
+            this.phaseCounts = phaseCounts;
+            this.lastSturmSequence = lastSturmSequence;
+        }
+
+        public long getCount(Counter counter) {
+            return counts.get(counter);
+        }
+
+        // Total time spent in the phase
+        public long getPhaseNanos(Phase phase) {
+            return phaseNanos.get(phase);
+        }
+
+        // Number of times the phase was run
+        public long getPhaseCount(Phase phase) {
+            return phaseCounts.get(phase);
+        }
+
+        // Share of the signs decided by SignFilter without the exact evaluation, hits / (hits + fallbacks), NaN if none
+        public double getSignFilterHitRate() {
+            long hits = getCount(Counter.SIGN_FILTER_HIT), total = hits + getCount(Counter.SIGN_FILTER_FALLBACK);
+            return total == 0 ? Double.NaN : (double) hits / total;
+        }
+
+        // Coefficient sizes of the elements of the most recently built Sturm sequence
+        public List<ElementSize> getLastSturmSequence() {
+            return lastSturmSequence;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Phase phase : Phase.values()) {
+                sb.append(phase).append(": ").append(phaseNanos.get(phase)).append(" ns in ")
+                        .append(phaseCounts.get(phase)).append(" runs\n");
+            }
+            for (Counter counter : Counter.values()) {
+                sb.append(counter).append(": ").append(counts.get(counter)).append('\n');
+            }
+            sb.append("SIGN_FILTER_HIT_RATE: ").append(String.format("%.3f", getSignFilterHitRate())).append('\n');
+            for (int i = 0; i < lastSturmSequence.size(); i++) {
+                sb.append('P').append(i).append(": ").append(lastSturmSequence.get(i)).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    private static volatile boolean enabled = false;
+    private static final LongAdder[] counts = newAdders(Counter.values().length);
+    private static final LongAdder[] phaseNanos = newAdders(Phase.values().length);
+    private static final LongAdder[] phaseCounts = newAdders(Phase.values().length);
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static volatile List<ElementSize> lastSturmSequence = Collections.emptyList();
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static void reset() {
+        for (LongAdder adder : counts) adder.reset();
+        for (LongAdder adder : phaseNanos) adder.reset();
+        for (LongAdder adder : phaseCounts) adder.reset();
+        lastSturmSequence = Collections.emptyList();
+    }
+
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public static Stats snapshot() {
+        Map<Counter, Long> countValues = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) countValues.put(counter, counts[counter.ordinal()].sum());
+
+        Map<Phase, Long> nanosValues = new EnumMap<>(Phase.class), countsValues = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            nanosValues.put(phase, phaseNanos[phase.ordinal()].sum());
+            countsValues.put(phase, phaseCounts[phase.ordinal()].sum());
+        }
+        return new Stats(countValues, nanosValues, countsValues, lastSturmSequence);
+    }
+
+    public static void count(Counter counter) {
+        if (enabled) counts[counter.ordinal()].increment();
+    }
+
+    // Returns the start time of a phase, or 0 if the metrics are disabled
+    public static long startPhase() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void endPhase(Phase phase, long start) {
+        if (start == 0 || !enabled) return;
+
+        long nanos = System.nanoTime() - start;
+        phaseNanos[phase.ordinal()].add(nanos);
+        phaseCounts[phase.ordinal()].increment();
+        for (Listener listener : listeners) listener.phaseCompleted(phase, nanos);
+    }
+
+    // Records the coefficient sizes of the elements of a Sturm sequence
+    public static void sturmSequenceBuilt(List<Polynomial> polynomials) {
+        if (!enabled) return;
+
+        List<ElementSize> sizes = new ArrayList<>();
+        for (int i = 0; i < polynomials.size(); i++) {
+            ElementSize size = elementSize(polynomials.get(i));
+            sizes.add(size);
+            for (Listener listener : listeners) listener.sturmElementBuilt(i, size);
+        }
+        lastSturmSequence = Collections.unmodifiableList(sizes);
+    }
+
+    // The bit length of a coefficient is the one of its numerator plus the one of its denominator
+    private static ElementSize elementSize(Polynomial px) {
+        int maxBitLength = 0;
+        long totalBitLength = 0;
+        for (int i = 0; i <= px.getDegree(); i++) {
+            Fraction coefficient = px.getCoefficient(i);
+            int bitLength = coefficient.getNumerator().bitLength()
+                    + (coefficient.getDenominator().equals(BigInteger.ONE) ? 0 : coefficient.getDenominator().bitLength());
+            maxBitLength = Math.max(maxBitLength, bitLength);
+            totalBitLength += bitLength;
+        }
+        return new ElementSize(px.getDegree(), maxBitLength, (double) totalBitLength / (px.getDegree() + 1));
+    }
+
+    private static LongAdder[] newAdders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+}
@@ -0,0 +1,224 @@
+package math.util;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Class to compute the GCD of integer polynomials modulo several primes, combined with the Chinese remainder theorem
+final class ModularGcd {
+    private static final List<Long> primes = new ArrayList<>();
+
+    private ModularGcd() {
+    }
+
+    static Polynomial gcd(Polynomial a, Polynomial b) {
+        if (a.isZero()) return normalize(b.primitivePart());
+        if (b.isZero()) return normalize(a.primitivePart());
+
+        a = a.primitivePart();
+        b = b.primitivePart();
+        if (a.getDegree() == 0 || b.getDegree() == 0) return new Polynomial(Fraction.ONE, 0);
+
+        BigInteger[] integerA = toIntegers(a), integerB = toIntegers(b);
+        BigInteger leadingGcd = integerA[a.getDegree()].gcd(integerB[b.getDegree()]);
+
+        BigInteger modulus = null;
+        BigInteger[] result = null;
+        for (int i = 0; ; i++) {
+            long prime = getPrime(i);
+            BigInteger bigPrime = BigInteger.valueOf(prime);
+
+            // Skip primes dividing the leading coefficients, the degree of the image could drop
+            if (integerA[a.getDegree()].mod(bigPrime).signum() == 0 || integerB[b.getDegree()].mod(bigPrime).signum() == 0)
+                continue;
+
+            Field field = new Field(prime);
+            long[] image = field.gcd(field.reduce(integerA), field.reduce(integerB));
+
+            // Constant gcd modulo a lucky prime means the polynomials are coprime
+            if (image.length == 1) return new Polynomial(Fraction.ONE, 0);
+
+            // Scale the monic image by gcd(lc(a), lc(b)), which is a multiple of the leading coefficient of the gcd
+            long scale = field.toMontgomery(leadingGcd.mod(bigPrime).longValue());
+            for (int j = 0; j < image.length; j++) {
+                image[j] = field.fromMontgomery(field.multiply(image[j], scale));
+            }
+
+            // A higher degree means an unlucky prime, a lower degree means all previous primes were unlucky
+            if (result != null && image.length > result.length) continue;
+            if (result == null || image.length < result.length) {
+                modulus = bigPrime;
+                result = new BigInteger[image.length];
+                for (int j = 0; j < image.length; j++) result[j] = symmetric(BigInteger.valueOf(image[j]), modulus);
+                continue;
+            }
+
+            // Chinese remainder theorem, result = result + modulus * ((image - result) / modulus mod prime)
+            boolean changed = false;
+            BigInteger inverse = modulus.modInverse(bigPrime);
+            BigInteger newModulus = modulus.multiply(bigPrime);
+            for (int j = 0; j < result.length; j++) {
+                BigInteger difference = BigInteger.valueOf(image[j]).subtract(result[j]).multiply(inverse).mod(bigPrime);
+                if (difference.signum() != 0) {
+                    result[j] = symmetric(result[j].add(modulus.multiply(difference)), newModulus);
+                    changed = true;
+                }
+            }
+            modulus = newModulus;
+
+            // Once the reconstruction is stable, verify it by trial division
+            if (!changed) {
+                Polynomial candidate = normalize(toPolynomial(result).primitivePart());
+                if (a.divideAndRemainder(candidate)[1].isZero() && b.divideAndRemainder(candidate)[1].isZero())
+                    return candidate;
+            }
+        }
+    }
+
+    private static Polynomial normalize(Polynomial polynomial) {
+        return polynomial.getLeadingCoefficient().signum() < 0 ? polynomial.negate() : polynomial;
+    }
+
+    private static BigInteger[] toIntegers(Polynomial primitive) {
+        BigInteger[] integers = new BigInteger[primitive.getDegree() + 1];
+        for (int i = 0; i < integers.length; i++) {
+            integers[i] = primitive.getCoefficient(i).getNumerator();
+        }
+        return integers;
+    }
+
+    private static Polynomial toPolynomial(BigInteger[] integers) {
+        Fraction[] coefficients = new Fraction[integers.length];
+        for (int i = 0; i < integers.length; i++) {
+            coefficients[i] = new Fraction(integers[i]);
+        }
+        return new Polynomial(coefficients);
+    }
+
+    // Returns the representative of the residue in (-modulus / 2, modulus / 2]
+    private static BigInteger symmetric(BigInteger residue, BigInteger modulus) {
+        residue = residue.mod(modulus);
+        return residue.compareTo(modulus.shiftRight(1)) > 0 ? residue.subtract(modulus) : residue;
+    }
+
+    // Returns the i-th largest prime below 2^62
+    private static synchronized long getPrime(int i) {
+        long candidate = primes.isEmpty() ? (1L << 62) + 1 : primes.get(primes.size() - 1);
+        while (primes.size() <= i) {
+            candidate -= 2;
+            if (BigInteger.valueOf(candidate).isProbablePrime(64)) primes.add(candidate);
+        }
+        return primes.get(i);
+    }
+
+    // Arithmetic modulo an odd prime p < 2^62, values are kept in Montgomery form x * 2^64 mod p
+    private static final class Field {
+        private final long p;
+        private final long pNegInverse; // -p^(-1) mod 2^64
+        private final long r2; // 2^128 mod p
+
+        Field(long p) {
+            this.p = p;
+
+            // Newton iteration for p^(-1) mod 2^64, each step doubles the number of correct bits
+            long inverse = p;
+            for (int i = 0; i < 5; i++) inverse *= 2 - p * inverse;
+            this.pNegInverse = -inverse;
+            this.r2 = BigInteger.ONE.shiftLeft(128).mod(BigInteger.valueOf(p)).longValue();
+        }
+
+        long[] reduce(BigInteger[] values) {
+            BigInteger bigP = BigInteger.valueOf(p);
+            long[] result = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = toMontgomery(values[i].mod(bigP).longValue());
+            }
+            return result;
+        }
+
+        long toMontgomery(long x) {
+            return multiply(x, r2);
+        }
+
+        long fromMontgomery(long x) {
+            return redc(0, x);
+        }
+
+        long subtract(long x, long y) {
+            long difference = x - y;
+            return difference < 0 ? difference + p : difference;
+        }
+
+        long multiply(long x, long y) {
+            return redc(Math.multiplyHigh(x, y), x * y);
+        }
+
+        // Returns (hi * 2^64 + lo) / 2^64 mod p for hi < p
+        private long redc(long hi, long lo) {
+            long m = lo * pNegInverse;
+            long mpHigh = Math.multiplyHigh(m, p) + ((m >> 63) & p); // Unsigned high half of m * p
+            long t = hi + mpHigh + (lo != 0 ? 1 : 0); // The low halves sum up to 0 or 2^64
+            return t >= p ? t - p : t;
+        }
+
+        long inverse(long x) {
+            // Extended Euclidean algorithm on the plain representative
+            long a = fromMontgomery(x), b = p;
+            long s = 1, t = 0;
+            while (b != 0) {
+                long q = a / b, temp = a - q * b;
+                a = b;
+                b = temp;
+                temp = s - q * t;
+                s = t;
+                t = temp;
+            }
+            if (s < 0) s += p;
+            return toMontgomery(s);
+        }
+
+        // Returns the monic gcd of two polynomials (coefficients ordered from the constant term)
+        long[] gcd(long[] a, long[] b) {
+            a = trim(a);
+            b = trim(b);
+            while (!(b.length == 1 && b[0] == 0)) {
+                long[] temp = remainder(a, b);
+                a = b;
+                b = temp;
+            }
+
+            long inverse = inverse(a[a.length - 1]);
+            for (int i = 0; i < a.length; i++) {
+                a[i] = multiply(a[i], inverse);
+            }
+            return a;
+        }
+
+        private long[] remainder(long[] a, long[] b) {
+            if (a.length < b.length) return a.clone();
+
+            int divisorDegree = b.length - 1;
+            if (divisorDegree == 0) return new long[]{0};
+
+            long[] remainder = a.clone();
+            long inverse = inverse(b[divisorDegree]);
+            for (int i = remainder.length - 1; i >= divisorDegree; i--) {
+                long coefficient = multiply(remainder[i], inverse);
+                if (coefficient == 0) continue;
+
+                int exponent = i - divisorDegree;
+                for (int j = 0; j < divisorDegree; j++) {
+                    remainder[exponent + j] = subtract(remainder[exponent + j], multiply(coefficient, b[j]));
+                }
+            }
+            return trim(Arrays.copyOf(remainder, divisorDegree));
+        }
+
+        private static long[] trim(long[] values) {
+            int length = values.length;
+            while (length > 1 && values[length - 1] == 0) length--;
+            return length == values.length ? values : Arrays.copyOf(values, length);
+        }
+    }
+}
@@ -6,9 +6,42 @@ import java.util.Arrays;
 // Class to represent polynomials
 public class Polynomial {
     public final static Polynomial ZERO = new Polynomial(Fraction.ZERO, 0);
-
-    private final Fraction[] coefficients;
+    private final static int INTEGER_MULTIPLICATION_THRESHOLD = 12;
+    // Polynomials of a higher degree with at most 2/3 of nonzero coefficients also keep the list of their nonzero terms,
+    // which is iterated instead of the zeros
+    private final static int SPARSE_MIN_DEGREE = 3;
+
+    private volatile Fraction[] coefficients; // Created on first use for polynomials built from their terms
+    private final int[] exponents; // Exponents of the nonzero terms in ascending order, null for dense polynomials
+    private final Fraction[] terms; // Coefficients of the nonzero terms
     private int degree;
+    private IntegerForm integerForm; // Computed on first use
+    private volatile double[] coefficientEnclosures; // Computed on first use
+
+    // The polynomial as (c_0 + c_1 * x + ... + c_n * x^n) / denominator with integer c_i
+    private static final class IntegerForm {
+        private final BigInteger[] coefficients;
+        private final BigInteger denominator;
+
+        private IntegerForm(BigInteger[] coefficients, BigInteger denominator) {
+            this.coefficients = coefficients;
+            this.denominator = denominator;
+        }
+
+        private IntegerForm(Fraction[] fractions) {
+            BigInteger lcm = BigInteger.ONE;
+            for (Fraction fraction : fractions) {
+                BigInteger fractionDenominator = fraction.getDenominator();
+                lcm = lcm.divide(lcm.gcd(fractionDenominator)).multiply(fractionDenominator);
+            }
+
+            coefficients = new BigInteger[fractions.length];
+            for (int i = 0; i < fractions.length; i++) {
+                coefficients[i] = fractions[i].getNumerator().multiply(lcm.divide(fractions[i].getDenominator()));
+            }
+            denominator = lcm;
+        }
+    }
 
     public Polynomial(Fraction[] coefficients) {
         int numberOfLeadingZeros = 0;
@@ -20,19 +53,133 @@ public class Polynomial {
         this.coefficients = new Fraction[coefficients.length - numberOfLeadingZeros > 0 ? coefficients.length - numberOfLeadingZeros : 1];
         System.arraycopy(coefficients, 0, this.coefficients, 0, this.coefficients.length);
         calculateDegree();
+
+        int count = 0;
+        for (Fraction coefficient : this.coefficients) if (coefficient.signum() != 0) count++;
+        if (isSparse(count, degree)) {
+            exponents = new int[count];
+            terms = new Fraction[count];
+            for (int i = 0, k = 0; i <= degree; i++) {
+                if (this.coefficients[i].signum() == 0) continue;
+                exponents[k] = i;
+                terms[k++] = this.coefficients[i];
+            }
+        } else {
+            exponents = null;
+            terms = null;
+        }
     }
 
     // Creates a polynomial with a single term a * x^n
     public Polynomial(Fraction a, int n) {
+        degree = n;
+        if (a.signum() != 0 && isSparse(1, n)) {
+            exponents = new int[]{n};
+            terms = new Fraction[]{a};
+            return;
+        }
+
         coefficients = new Fraction[n + 1];
         Arrays.fill(coefficients, Fraction.ZERO);
         coefficients[n] = a;
-        calculateDegree();
+        exponents = null;
+        terms = null;
+    }
+
+    // Creates a polynomial from its nonzero terms, the exponents are in ascending order
+    private Polynomial(int[] exponents, Fraction[] terms) {
+        this.exponents = exponents;
+        this.terms = terms;
+        degree = exponents[exponents.length - 1];
+    }
+
+    // Creates a polynomial from the first 'count' nonzero terms, sparse only if the density is low enough
+    private static Polynomial fromTerms(int[] exponents, Fraction[] terms, int count) {
+        if (count == 0) return ZERO;
+
+        int degree = exponents[count - 1];
+        if (isSparse(count, degree)) return new Polynomial(Arrays.copyOf(exponents, count), Arrays.copyOf(terms, count));
+
+        Fraction[] coefficients = new Fraction[degree + 1];
+        Arrays.fill(coefficients, Fraction.ZERO);
+        for (int k = 0; k < count; k++) coefficients[exponents[k]] = terms[k];
+        return new Polynomial(coefficients);
+    }
+
+    // Creates a polynomial from the sums indexed by the exponent, null marks a missing term
+    static Polynomial fromSums(Fraction[] sums) {
+        int count = 0, degree = 0;
+        for (int i = 0; i < sums.length; i++) {
+            if (sums[i] == null || sums[i].signum() == 0) continue;
+            count++;
+            degree = i;
+        }
+        if (count == 0) return ZERO;
+
+        if (isSparse(count, degree)) {
+            int[] exponents = new int[count];
+            Fraction[] terms = new Fraction[count];
+            for (int i = 0, k = 0; k < count; i++) {
+                if (sums[i] == null || sums[i].signum() == 0) continue;
+                exponents[k] = i;
+                terms[k++] = sums[i];
+            }
+            return new Polynomial(exponents, terms);
+        }
+
+        Fraction[] coefficients = new Fraction[degree + 1];
+        for (int i = 0; i <= degree; i++) coefficients[i] = sums[i] == null ? Fraction.ZERO : sums[i];
+        return new Polynomial(coefficients);
+    }
+
+    private static boolean isSparse(int count, int degree) {
+        return degree >= SPARSE_MIN_DEGREE && 3 * count <= 2 * (degree + 1);
+    }
+
+    // Returns all coefficients including the zeros, racy but safe like the integer form
+    private Fraction[] dense() {
+        Fraction[] form = coefficients;
+        if (form == null) {
+            form = new Fraction[degree + 1];
+            Arrays.fill(form, Fraction.ZERO);
+            for (int k = 0; k < exponents.length; k++) form[exponents[k]] = terms[k];
+            coefficients = form;
+        }
+        return form;
+    }
+
+    // Creates the polynomial (c_0 + c_1 * x + ... + c_n * x^n) / denominator, the integer form is kept as it is
+    public static Polynomial fromIntegers(BigInteger[] coefficients, BigInteger denominator) {
+        if (denominator.signum() < 0) {
+            BigInteger[] negated = new BigInteger[coefficients.length];
+            for (int i = 0; i < coefficients.length; i++) negated[i] = coefficients[i].negate();
+            return fromIntegers(negated, denominator.negate());
+        }
+
+        Fraction[] fractions = new Fraction[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            fractions[i] = Fraction.valueOf(coefficients[i], denominator);
+        }
+        Polynomial polynomial = new Polynomial(fractions);
+        polynomial.integerForm = new IntegerForm(Arrays.copyOf(coefficients, polynomial.degree + 1), denominator);
+        return polynomial;
     }
 
     public Polynomial differentiate() {
         if (degree == 0) return ZERO;
+        if (exponents != null) {
+            // The constant term vanishes, every other term moves one degree down
+            int offset = exponents[0] == 0 ? 1 : 0, count = exponents.length - offset;
+            int[] derivativeExponents = new int[count];
+            Fraction[] derivativeTerms = new Fraction[count];
+            for (int k = 0; k < count; k++) {
+                derivativeExponents[k] = exponents[k + offset] - 1;
+                derivativeTerms[k] = terms[k + offset].multiply(new Fraction(exponents[k + offset]));
+            }
+            return fromTerms(derivativeExponents, derivativeTerms, count);
+        }
 
+        Fraction[] coefficients = this.coefficients;
         Fraction[] derivativeCoefficients = new Fraction[degree];
         for (int i = 0; i < degree; i++) {
             derivativeCoefficients[i] = coefficients[i + 1].multiply(new Fraction(i + 1));
@@ -41,66 +188,185 @@ public class Polynomial {
     }
 
     public static Polynomial gcd(Polynomial a, Polynomial b) {
+        // Primitive pseudo-remainder sequence, all intermediate polynomials have integer coefficients
+        a = a.primitivePart();
+        b = b.primitivePart();
         while (!b.isZero()) {
             Polynomial temp = a;
             a = b;
-            b = temp.remainder(b);
+            b = temp.pseudoRemainder(b).primitivePart();
         }
 
-        // Divide a = gcd with a non-zero constant = gcd(numerators)
-        BigInteger constant = a.coefficients[0].getNumerator();
-        for (int i = 1; i < a.coefficients.length; i++) {
-            constant = gcd(constant, a.coefficients[i].getNumerator());
+        // The gcd is primitive already, only make its leading coefficient positive
+        return a.getLeadingCoefficient().signum() < 0 ? a.negate() : a;
+    }
 
-            if (constant.equals(BigInteger.ONE)) break;
-        }
+    // Same as gcd(a, b), but computed modulo several primes and reconstructed with the Chinese remainder theorem
+    public static Polynomial modularGcd(Polynomial a, Polynomial b) {
+        return ModularGcd.gcd(a, b);
+    }
+
+    // Returns the primitive polynomial with the same roots, each of them simple
+    public Polynomial squareFreePart() {
+        if (degree == 0) return isZero() ? ZERO : new Polynomial(Fraction.ONE, 0);
+        return divideAndRemainder(modularGcd(this, differentiate()))[0].primitivePart();
+    }
+
+    public Polynomial remainder(Polynomial other) {
+        return divideAndRemainder(other)[1];
+    }
 
-        for (int i = 0; i < a.coefficients.length; i++) {
-            a.coefficients[i] = a.coefficients[i].divide(new Fraction(constant));
+    // Returns lc(other)^(deg(this) - deg(other) + 1) * remainder(other), computed without divisions
+    public Polynomial pseudoRemainder(Polynomial other) {
+        if (other.isZero())
+            throw new RuntimeException("Cannot divide by zero polynomial.");
+
+        if (degree < other.degree) return this;
+
+        Fraction[] remainder = dense().clone(), otherCoefficients = other.dense();
+        Fraction leadingCoefficient = otherCoefficients[other.degree];
+        for (int i = degree; i >= other.degree; i--) {
+            int exponent = i - other.degree;
+            Fraction coefficient = remainder[i];
+
+            // remainder = lc(other) * remainder - coefficient * x^exponent * other
+            for (int j = 0; j < i; j++) {
+                remainder[j] = remainder[j].multiply(leadingCoefficient);
+                if (j >= exponent && coefficient.signum() != 0)
+                    remainder[j] = remainder[j].subtract(coefficient.multiply(otherCoefficients[j - exponent]));
+            }
         }
+        return other.degree == 0 ? ZERO : new Polynomial(Arrays.copyOf(remainder, other.degree));
+    }
+
+    // Returns the polynomial divided by its positive content, the result has coprime integer coefficients
+    public Polynomial primitivePart() {
+        if (isZero()) return ZERO;
 
-        // Multiply a = gcd with a non-zero constant = max(denominators)
-        constant = a.coefficients[0].getDenominator();
-        for (int i = 1; i < a.coefficients.length; i++) {
-            constant = constant.max(a.coefficients[i].getDenominator());
+        BigInteger numeratorsGcd = BigInteger.ZERO, denominatorsLcm = BigInteger.ONE;
+        Fraction[] coefficients = exponents != null ? terms : this.coefficients;
+        for (Fraction coefficient : coefficients) {
+            BigInteger denominator = coefficient.getDenominator();
+            numeratorsGcd = numeratorsGcd.gcd(coefficient.getNumerator());
+            denominatorsLcm = denominatorsLcm.divide(denominatorsLcm.gcd(denominator)).multiply(denominator);
         }
 
-        for (int i = 0; i < a.coefficients.length; i++) {
-            a.coefficients[i] = a.coefficients[i].multiply(new Fraction(constant));
+        Fraction multiplier = new Fraction(denominatorsLcm, numeratorsGcd);
+        if (multiplier.equals(Fraction.ONE)) return this;
+
+        Fraction[] resultCoefficients = new Fraction[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            resultCoefficients[i] = coefficients[i].multiply(multiplier);
         }
+        return exponents != null ? new Polynomial(exponents, resultCoefficients) : new Polynomial(resultCoefficients);
+    }
 
-        return a;
+    public Fraction getCoefficient(int exponent) {
+        if (exponent > degree) return Fraction.ZERO;
+        if (exponents == null) return coefficients[exponent];
+
+        int k = Arrays.binarySearch(exponents, exponent);
+        return k >= 0 ? terms[k] : Fraction.ZERO;
     }
 
-    public Polynomial remainder(Polynomial other) {
-        // The formulation "this = quotient * other + reminder" holds
-        Polynomial quotient = this.divide(other);
-        return this.subtract(quotient.multiply(other));
+    public Fraction getLeadingCoefficient() {
+        return exponents != null ? terms[terms.length - 1] : coefficients[degree];
     }
 
     public Polynomial negate() {
-        Polynomial multiplier = new Polynomial(new Fraction(-1), 0);
-        return this.multiply(multiplier);
+        return new PolynomialBuilder(degree + 1).subtract(this).build();
     }
 
     public Fraction evaluate(Fraction x) {
-        Fraction result = Fraction.ZERO;
-        for (int i = degree; i >= 0; i--) {
-            result = coefficients[i].add(x.multiply(result));
+        if (degree == 0) return getCoefficient(0);
+
+        // P(p / q) = (sum of c_i * p^i * q^(n - i)) / (denominator * q^n)
+        BigInteger q = x.getDenominator();
+        BigInteger value = homogenizedHorner(x.getNumerator(), q);
+        return Fraction.valueOf(value, getIntegerForm().denominator.multiply(q.pow(degree)));
+    }
+
+    // Returns the sign of P(x) without building the value itself
+    public int signAt(Fraction x) {
+        if (degree == 0) return getCoefficient(0).signum();
+
+        // Try the interval arithmetic filter first, the exact evaluation is needed only if P(x) is close to zero
+        double[] enclosures = coefficientEnclosures;
+        if (enclosures == null) coefficientEnclosures = enclosures = SignFilter.enclose(dense());
+
+        int sign = SignFilter.sign(enclosures, x);
+        if (sign != SignFilter.UNKNOWN) {
+            Metrics.count(Metrics.Counter.SIGN_FILTER_HIT);
+            return sign;
+        }
+        Metrics.count(Metrics.Counter.SIGN_FILTER_FALLBACK);
+        return homogenizedHorner(x.getNumerator(), x.getDenominator()).signum();
+    }
+
+    // Returns the sum of c_i * p^i * q^(n - i), reusing the powers of q between the steps
+    private BigInteger homogenizedHorner(BigInteger p, BigInteger q) {
+        BigInteger[] integerCoefficients = getIntegerForm().coefficients;
+        BigInteger result = integerCoefficients[degree];
+        if (exponents != null) {
+            // The terms between two nonzero ones are skipped, multiplying by the powers of p and q at once,
+            // the powers are reused while the gap between the exponents stays the same
+            BigInteger qPower = BigInteger.ONE, pGapPower = p, qGapPower = q;
+            int lastGap = 1;
+            for (int k = exponents.length - 2; k >= 0; k--) {
+                int gap = exponents[k + 1] - exponents[k];
+                if (gap != lastGap) {
+                    pGapPower = p.pow(gap);
+                    qGapPower = q.pow(gap);
+                    lastGap = gap;
+                }
+                qPower = qPower.multiply(qGapPower);
+                result = result.multiply(pGapPower).add(integerCoefficients[exponents[k]].multiply(qPower));
+            }
+            return exponents[0] == 0 ? result : result.multiply(p.pow(exponents[0]));
+        }
+        if (q.equals(BigInteger.ONE)) {
+            for (int i = degree - 1; i >= 0; i--) {
+                result = result.multiply(p).add(integerCoefficients[i]);
+            }
+            return result;
+        }
+
+        BigInteger qPower = BigInteger.ONE;
+        for (int i = degree - 1; i >= 0; i--) {
+            qPower = qPower.multiply(q);
+            result = result.multiply(p);
+            if (integerCoefficients[i].signum() != 0) result = result.add(integerCoefficients[i].multiply(qPower));
         }
         return result;
     }
 
+    BigInteger[] getIntegerCoefficients() {
+        return getIntegerForm().coefficients;
+    }
+
+    BigInteger getCommonDenominator() {
+        return getIntegerForm().denominator;
+    }
+
+    private IntegerForm getIntegerForm() {
+        // Racy but safe, IntegerForm is immutable and recomputing it gives the same result
+        IntegerForm form = integerForm;
+        if (form == null) integerForm = form = new IntegerForm(dense());
+        return form;
+    }
+
     public int getDegree() {
         return degree;
     }
 
     public boolean isZero() {
-        return this == ZERO || (degree == 0 && coefficients.length == 1 && coefficients[0].equals(Fraction.ZERO));
+        // Sparse polynomials have at least one nonzero term
+        return this == ZERO || (exponents == null && degree == 0 && coefficients[0].equals(Fraction.ZERO));
     }
 
     @Override
     public String toString() {
+        Fraction[] coefficients = dense();
         StringBuilder sb = new StringBuilder();
         for (int i = degree; i >= 0; i--) {
             if (coefficients[i].getNumerator().equals(BigInteger.ZERO)) continue;
@@ -112,7 +378,7 @@ public class Polynomial {
                     sb.append(new Fraction(coefficients[i].getNumerator().abs(), coefficients[i].getDenominator()));
                 } else sb.append(coefficients[i]);
                 if (i != 0) sb.append("*");
-            }
+            } else if (i == degree && coefficients[i].signum() < 0) sb.append("-");
 
             if (i != 0) {
                 sb.append("x");
@@ -140,49 +406,87 @@ public class Polynomial {
     }
 
     public Polynomial add(Polynomial other) {
-        Fraction[] resultCoefficients = new Fraction[Math.max(degree, other.degree) + 1];
-        Arrays.fill(resultCoefficients, Fraction.ZERO);
-        for (int i = 0; i <= degree; i++)
-            resultCoefficients[i] = resultCoefficients[i].add(coefficients[i]);
-        for (int i = 0; i <= other.degree; i++)
-            resultCoefficients[i] = resultCoefficients[i].add(other.coefficients[i]);
-
-        return new Polynomial(resultCoefficients);
+        return new PolynomialBuilder(Math.max(degree, other.degree) + 1).add(this).add(other).build();
     }
 
     public Polynomial subtract(Polynomial other) {
-        return this.add(other.negate());
+        return new PolynomialBuilder(Math.max(degree, other.degree) + 1).add(this).subtract(other).build();
     }
 
     public Polynomial multiply(Polynomial other) {
-        Fraction[] resultCoefficients = new Fraction[degree + other.degree + 1];
-        Arrays.fill(resultCoefficients, Fraction.ZERO);
-        for (int i = 0; i <= degree; i++)
-            for (int j = 0; j <= other.degree; j++) {
-                resultCoefficients[i + j] = resultCoefficients[i + j].add(coefficients[i].multiply(other.coefficients[j]));
-            }
-        return new Polynomial(resultCoefficients);
+        Metrics.count(Metrics.Counter.POLYNOMIAL_MULTIPLY);
+
+        // Short operands are multiplied directly, longer ones over the integers after clearing the denominators
+        if (Math.min(degree, other.degree) < INTEGER_MULTIPLICATION_THRESHOLD) return schoolbookMultiply(other);
+        return PolynomialMultiplier.multiply(this, other);
     }
 
-    public Polynomial divide(Polynomial other) {
-        // Specific cases
-        if (other.isZero())
-            throw new RuntimeException("Cannot divide by zero polynomial.");
+    private Polynomial schoolbookMultiply(Polynomial other) {
+        return new PolynomialBuilder(degree + other.degree + 1).mulAdd(this, other).build();
+    }
 
-        if (degree < other.degree) return ZERO;
+    // Adds this * other to the sums indexed by the exponent, only the products of nonzero terms are computed
+    void addProductTo(Fraction[] sums, Polynomial other) {
+        if (exponents != null) {
+            for (int k = 0; k < exponents.length; k++) other.addTo(sums, exponents[k], terms[k], false);
+            return;
+        }
 
-        // Division algorithm
-        Fraction coefficient = coefficients[degree].divide(other.coefficients[other.degree]);
-        int exponent = degree - other.degree;
-        Polynomial result = new Polynomial(coefficient, exponent);
+        Fraction[] coefficients = this.coefficients;
+        for (int i = 0; i <= degree; i++) {
+            if (coefficients[i].signum() != 0) other.addTo(sums, i, coefficients[i], false);
+        }
+    }
 
-        Polynomial subtractionResult = this.subtract(other.multiply(result));
-        Polynomial divisionResult = subtractionResult.isZero() ? ZERO : subtractionResult.divide(other);
-        return result.add(divisionResult);
+    // Adds (or subtracts if 'negate' is set) factor * x^shift * this to the sums indexed by the exponent,
+    // a null factor stands for 1, the array has to be long enough
+    void addTo(Fraction[] sums, int shift, Fraction factor, boolean negate) {
+        if (factor != null && negate) {
+            factor = factor.negate();
+            negate = false;
+        }
+
+        if (exponents != null) {
+            for (int k = 0; k < exponents.length; k++) accumulate(sums, exponents[k] + shift, terms[k], factor, negate);
+            return;
+        }
+
+        Fraction[] coefficients = this.coefficients;
+        for (int i = 0; i <= degree; i++) {
+            if (coefficients[i].signum() != 0) accumulate(sums, i + shift, coefficients[i], factor, negate);
+        }
+    }
+
+    private static void accumulate(Fraction[] sums, int exponent, Fraction coefficient, Fraction factor, boolean negate) {
+        Fraction value = factor != null ? coefficient.multiply(factor) : coefficient;
+        if (sums[exponent] == null) sums[exponent] = negate ? value.negate() : value;
+        else sums[exponent] = negate ? sums[exponent].subtract(value) : sums[exponent].add(value);
+    }
+
+    public Polynomial divide(Polynomial other) {
+        return divideAndRemainder(other)[0];
     }
 
-    private static BigInteger gcd(BigInteger a, BigInteger b) {
-        if (b.equals(BigInteger.ZERO)) return a;
-        return gcd(b, a.remainder(b));
+    // Returns an array {quotient, remainder} such that "this = quotient * other + remainder" holds
+    public Polynomial[] divideAndRemainder(Polynomial other) {
+        Metrics.count(Metrics.Counter.POLYNOMIAL_DIVIDE);
+
+        // Specific cases
+        if (other.isZero())
+            throw new RuntimeException("Cannot divide by zero polynomial.");
+
+        if (degree < other.degree) return new Polynomial[]{ZERO, this};
+
+        // Long division, the dividend is reduced in place, the leading term of each step cancels out exactly
+        PolynomialBuilder remainder = new PolynomialBuilder(degree + 1).add(this);
+        Fraction[] quotient = new Fraction[degree - other.degree + 1];
+        Fraction leadingCoefficient = other.getLeadingCoefficient();
+        for (int i = degree; i >= other.degree; i--) {
+            int exponent = i - other.degree;
+            Fraction coefficient = remainder.getCoefficient(i).divide(leadingCoefficient);
+            quotient[exponent] = coefficient;
+            remainder.subtractMultiple(other, coefficient, exponent);
+        }
+        return new Polynomial[]{new Polynomial(quotient), remainder.build()};
     }
 }
@@ -0,0 +1,80 @@
+package math.util;
+
+import java.util.Arrays;
+
+// Class to accumulate a polynomial in place, the immutable Polynomial is created only by build()
+public final class PolynomialBuilder {
+    private Fraction[] sums; // Coefficients indexed by the exponent, null marks a missing term
+
+    public PolynomialBuilder() {
+        this(16);
+    }
+
+    // The capacity is the expected degree plus one, the buffer grows if needed
+    public PolynomialBuilder(int capacity) {
+        sums = new Fraction[Math.max(1, capacity)];
+    }
+
+    public PolynomialBuilder add(Polynomial px) {
+        ensureCapacity(px.getDegree() + 1);
+        px.addTo(sums, 0, null, false);
+        return this;
+    }
+
+    public PolynomialBuilder subtract(Polynomial px) {
+        ensureCapacity(px.getDegree() + 1);
+        px.addTo(sums, 0, null, true);
+        return this;
+    }
+
+    // this += factor * px
+    public PolynomialBuilder addScaled(Polynomial px, Fraction factor) {
+        if (factor.signum() == 0) return this;
+
+        ensureCapacity(px.getDegree() + 1);
+        px.addTo(sums, 0, factor, false);
+        return this;
+    }
+
+    // this -= factor * x^shift * px
+    public PolynomialBuilder subtractMultiple(Polynomial px, Fraction factor, int shift) {
+        if (factor.signum() == 0) return this;
+
+        ensureCapacity(px.getDegree() + shift + 1);
+        px.addTo(sums, shift, factor, true);
+        return this;
+    }
+
+    // this += a * b, only the products of nonzero terms are computed
+    public PolynomialBuilder mulAdd(Polynomial a, Polynomial b) {
+        ensureCapacity(a.getDegree() + b.getDegree() + 1);
+        a.addProductTo(sums, b);
+        return this;
+    }
+
+    public PolynomialBuilder negate() {
+        for (int i = 0; i < sums.length; i++) {
+            if (sums[i] != null) sums[i] = sums[i].negate();
+        }
+        return this;
+    }
+
+    public Fraction getCoefficient(int exponent) {
+        return exponent < sums.length && sums[exponent] != null ? sums[exponent] : Fraction.ZERO;
+    }
+
+    // The builder can still be used afterwards, the polynomial does not share its buffer
+    public Polynomial build() {
+        return Polynomial.fromSums(sums);
+    }
+
+    // Empties the builder, keeping the buffer for the next polynomial
+    public PolynomialBuilder clear() {
+        Arrays.fill(sums, null);
+        return this;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > sums.length) sums = Arrays.copyOf(sums, Math.max(capacity, 2 * sums.length));
+    }
+}
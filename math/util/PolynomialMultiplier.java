@@ -0,0 +1,90 @@
+package math.util;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+// Class to multiply polynomials with integer coefficients, using Karatsuba's algorithm for long operands
+final class PolynomialMultiplier {
+    // Below this number of coefficients the schoolbook algorithm is faster
+    static final int KARATSUBA_THRESHOLD = 24;
+
+    private PolynomialMultiplier() {
+    }
+
+    static Polynomial multiply(Polynomial a, Polynomial b) {
+        // Clear denominators, a * b = (A / denominatorA) * (B / denominatorB)
+        BigInteger[] product = multiply(a.getIntegerCoefficients(), b.getIntegerCoefficients());
+
+        BigInteger denominator = a.getCommonDenominator().multiply(b.getCommonDenominator());
+        Fraction[] coefficients = new Fraction[product.length];
+        for (int i = 0; i < product.length; i++) {
+            coefficients[i] = Fraction.valueOf(product[i], denominator);
+        }
+        return new Polynomial(coefficients);
+    }
+
+    // Coefficients are ordered from the constant term, both arrays have to be non-empty
+    static BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+        if (a.length < b.length) {
+            BigInteger[] temp = a;
+            a = b;
+            b = temp;
+        }
+        if (b.length < KARATSUBA_THRESHOLD) return schoolbook(a, b);
+
+        BigInteger[] result = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+
+        // Unbalanced operands, multiply 'b' by the chunks of 'a' of the same length
+        if (2 * b.length <= a.length) {
+            for (int start = 0; start < a.length; start += b.length) {
+                BigInteger[] chunk = Arrays.copyOfRange(a, start, Math.min(start + b.length, a.length));
+                addInto(result, multiply(chunk, b), start);
+            }
+            return result;
+        }
+
+        // Karatsuba, a * b = z0 + (z1 - z0 - z2) * x^half + z2 * x^(2 * half)
+        int half = a.length / 2;
+        BigInteger[] a0 = Arrays.copyOfRange(a, 0, half), a1 = Arrays.copyOfRange(a, half, a.length);
+        BigInteger[] b0 = Arrays.copyOfRange(b, 0, half), b1 = Arrays.copyOfRange(b, half, b.length);
+
+        BigInteger[] z0 = multiply(a0, b0);
+        BigInteger[] z2 = multiply(a1, b1);
+        BigInteger[] z1 = multiply(sum(a0, a1), sum(b0, b1));
+        for (int i = 0; i < z0.length; i++) z1[i] = z1[i].subtract(z0[i]);
+        for (int i = 0; i < z2.length; i++) z1[i] = z1[i].subtract(z2[i]);
+
+        addInto(result, z0, 0);
+        addInto(result, z1, half);
+        addInto(result, z2, 2 * half);
+        return result;
+    }
+
+    private static BigInteger[] schoolbook(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0) continue;
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = result[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return result;
+    }
+
+    private static BigInteger[] sum(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < result.length; i++) {
+            if (i >= a.length) result[i] = b[i];
+            else if (i < b.length) result[i] = result[i].add(b[i]);
+        }
+        return result;
+    }
+
+    private static void addInto(BigInteger[] result, BigInteger[] values, int offset) {
+        for (int i = 0; i < values.length; i++) {
+            result[offset + i] = result[offset + i].add(values[i]);
+        }
+    }
+}
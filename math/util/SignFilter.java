@@ -0,0 +1,83 @@
+package math.util;
+
+import java.math.BigInteger;
+
+// Class to determine the sign of a polynomial with double interval arithmetic, exact evaluation is needed only near zero
+final class SignFilter {
+    static final int UNKNOWN = 2;
+
+    private SignFilter() {
+    }
+
+    // Returns the enclosures [lower, upper] of the coefficients, stored as {lower_0, upper_0, lower_1, upper_1, ...}
+    static double[] enclose(Fraction[] coefficients) {
+        double[] enclosures = new double[2 * coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            enclose(coefficients[i], enclosures, 2 * i);
+        }
+        return enclosures;
+    }
+
+    /**
+     * Evaluates the polynomial with interval Horner's scheme, rounding every bound outwards.
+     *
+     * @param enclosures The coefficient enclosures returned by {@code enclose}.
+     * @param x          The point of evaluation.
+     * @return The sign of the polynomial at x, or {@code UNKNOWN} if the resulting interval contains zero.
+     */
+    static int sign(double[] enclosures, Fraction x) {
+        double[] point = new double[2];
+        enclose(x, point, 0);
+        double xLower = point[0], xUpper = point[1];
+
+        int degree = enclosures.length / 2 - 1;
+        double lower = enclosures[2 * degree], upper = enclosures[2 * degree + 1];
+        for (int i = degree - 1; i >= 0; i--) {
+            // [lower, upper] * [xLower, xUpper]
+            double p1 = lower * xLower, p2 = lower * xUpper, p3 = upper * xLower, p4 = upper * xUpper;
+            double productLower = Math.min(Math.min(p1, p2), Math.min(p3, p4));
+            double productUpper = Math.max(Math.max(p1, p2), Math.max(p3, p4));
+
+            // + [lower_i, upper_i]
+            lower = Math.nextDown(Math.nextDown(productLower) + enclosures[2 * i]);
+            upper = Math.nextUp(Math.nextUp(productUpper) + enclosures[2 * i + 1]);
+        }
+
+        // Comparisons with NaN (e.g. infinity * 0) are false, so such results stay undecided
+        if (lower > 0) return 1;
+        if (upper < 0) return -1;
+        return UNKNOWN;
+    }
+
+    // Writes an interval of doubles containing the fraction to target[index] and target[index + 1]
+    private static void enclose(Fraction fraction, double[] target, int index) {
+        BigInteger numerator = fraction.getNumerator(), denominator = fraction.getDenominator();
+        if (numerator.signum() == 0) {
+            target[index] = target[index + 1] = 0;
+            return;
+        }
+
+        // Both are exact doubles, only the division is rounded
+        if (numerator.bitLength() <= 53 && denominator.bitLength() <= 53) {
+            double value = numerator.doubleValue() / denominator.doubleValue();
+            target[index] = Math.nextDown(value);
+            target[index + 1] = Math.nextUp(value);
+            return;
+        }
+
+        // Keep the 62 leading bits of both, the relative error of the quotient stays below 2^(-50)
+        int numeratorShift = Math.max(0, numerator.bitLength() - 62), denominatorShift = Math.max(0, denominator.bitLength() - 62);
+        double value = numerator.abs().shiftRight(numeratorShift).doubleValue() / denominator.shiftRight(denominatorShift).doubleValue();
+        value = Math.scalb(value, numeratorShift - denominatorShift);
+
+        double error = Math.scalb(value, -50) + Double.MIN_VALUE; // Covers the underflow as well
+        double lower = value - error, upper = value + error;
+        if (numerator.signum() < 0) {
+            target[index] = -upper;
+            target[index + 1] = -lower;
+        } else {
+            target[index] = lower;
+            target[index + 1] = upper;
+        }
+    }
+}